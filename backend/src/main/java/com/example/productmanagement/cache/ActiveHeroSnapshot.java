@@ -0,0 +1,109 @@
+package com.example.productmanagement.cache;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.productmanagement.model.HeroImage;
+import com.example.productmanagement.repository.HeroImageRepository;
+import com.example.productmanagement.repository.HeroImageVariantRepository;
+
+/**
+ * In-memory copy of the active hero metadata served to the home page banner. Built at
+ * startup and rebuilt by HeroImageController after every hero change, so reads never
+ * reach the database. Changes made by another instance show up there only after its
+ * own next hero change or restart.
+ */
+@Component
+public class ActiveHeroSnapshot {
+
+    @Autowired
+    private HeroImageRepository heroImageRepository;
+
+    @Autowired
+    private HeroImageVariantRepository heroImageVariantRepository;
+
+    @Value("${app.base-url}")
+    private String baseUrl;
+
+    private volatile List<Map<String, Object>> snapshot;
+
+    public List<Map<String, Object>> get() {
+        List<Map<String, Object>> current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // Retried by the first get()
+            System.err.println("Could not load active hero images: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads the active heroes. Synchronized so a slow rebuild can't overwrite a newer one.
+     */
+    public synchronized List<Map<String, Object>> refresh() {
+        Map<Integer, List<Integer>> widths = variantWidths();
+        List<Map<String, Object>> rebuilt = heroImageRepository.findByActiveTrueOrderByDisplayOrderAsc().stream()
+                .map(hero -> Collections.unmodifiableMap(metadata(hero, widths.getOrDefault(hero.getId(), List.of()))))
+                .toList();
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    /**
+     * Hero id -> widths of its stored variants, ascending
+     */
+    public Map<Integer, List<Integer>> variantWidths() {
+        return heroImageVariantRepository.findAllWidths().stream()
+                .collect(Collectors.groupingBy(HeroImageVariantRepository.WidthView::getHeroId,
+                        Collectors.mapping(HeroImageVariantRepository.WidthView::getWidth, Collectors.toList())));
+    }
+
+    /**
+     * Metadata plus a versioned image URL and, when variants exist, a srcset of them;
+     * the bytes are fetched separately and cached
+     */
+    public Map<String, Object> metadata(HeroImage hero, List<Integer> widths) {
+        Map<String, Object> heroData = new HashMap<>();
+        heroData.put("id", hero.getId());
+        heroData.put("title", hero.getTitle());
+        heroData.put("description", hero.getDescription());
+        heroData.put("buttonText", hero.getButtonText());
+        heroData.put("buttonLink", hero.getButtonLink());
+        heroData.put("displayOrder", hero.getDisplayOrder());
+        if (hero.getImageType() != null) {
+            String imageUrl = baseUrl + "/api/hero/" + hero.getId() + "/image?v=" + imageVersion(hero);
+            heroData.put("imageUrl", imageUrl);
+            heroData.put("imageType", hero.getImageType());
+            if (!widths.isEmpty()) {
+                heroData.put("imageSrcset", widths.stream()
+                        .map(width -> imageUrl + "&w=" + width + " " + width + "w")
+                        .collect(Collectors.joining(", ")));
+            }
+        }
+        return heroData;
+    }
+
+    /**
+     * Content hash prefix; images stored before hashes were recorded fall back to updatedAt
+     */
+    public static String imageVersion(HeroImage hero) {
+        if (hero.getImageHash() != null) {
+            return hero.getImageHash().substring(0, 16);
+        }
+        return hero.getUpdatedAt() != null ? Long.toString(hero.getUpdatedAt().getTime(), 36) : "0";
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.productmanagement.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.productmanagement.event.ProductChangedEvent;
+
+/**
+ * Version counters behind the catalog ETags: one for the whole catalog and one per product.
+ * Versions live in memory, so every ETag also carries the startup epoch; a restart
+ * therefore invalidates all client copies instead of reusing version numbers.
+ */
+@Component
+public class CatalogVersions {
+
+    /**
+     * ETag and Last-Modified for one representation
+     */
+    public record Stamp(String etag, long lastModified) {
+    }
+
+    private final String epoch;
+    private final long startedAt;
+
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private volatile long catalogLastModified;
+    private final Map<Integer, Stamp> productStamps = new ConcurrentHashMap<>();
+
+    public CatalogVersions() {
+        // HTTP dates have second precision
+        this.startedAt = System.currentTimeMillis() / 1000 * 1000;
+        this.epoch = Long.toString(startedAt / 1000, 36);
+        this.catalogLastModified = startedAt;
+    }
+
+    public Stamp catalog() {
+        // Read the version before the timestamp; a concurrent bump can only make the ETag older
+        long version = catalogVersion.get();
+        return new Stamp("\"c-" + epoch + "-" + version + "\"", catalogLastModified);
+    }
+
+    public Stamp product(Integer id) {
+        Stamp stamp = productStamps.get(id);
+        return stamp != null ? stamp : new Stamp("\"p" + id + "-" + epoch + "-0\"", startedAt);
+    }
+
+    /**
+     * Runs after the product cache has been invalidated (lowest precedence), so a client
+     * can never receive stale cached content under a new ETag.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onProductChanged(ProductChangedEvent event) {
+        long now = Math.max(System.currentTimeMillis() / 1000 * 1000, catalogLastModified);
+        long version = catalogVersion.incrementAndGet();
+        productStamps.put(event.getProductId(),
+                new Stamp("\"p" + event.getProductId() + "-" + epoch + "-" + version + "\"", now));
+        catalogLastModified = now;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.productmanagement.cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.productmanagement.dto.ProductComparisonDTO;
+import com.example.productmanagement.dto.ProductDTO;
+import com.example.productmanagement.event.ProductChangedEvent;
+import com.example.productmanagement.model.Product;
+
+/**
+ * Read-through cache for the storefront product reads (by id, by category, available list).
+ * Entries are invalidated after the transaction that changed a product commits.
+ */
+@Component
+public class ProductCatalogCache {
+
+    private static final String AVAILABLE_KEY = "available";
+
+    private final BoundedTtlCache<Integer, ProductDTO> byId;
+    private final BoundedTtlCache<String, List<ProductDTO>> byCategory;
+    private final BoundedTtlCache<String, List<ProductDTO>> available;
+    // Keyed by the compared ids and their versions, so a product change simply stops matching
+    private final BoundedTtlCache<String, ProductComparisonDTO> comparisons;
+
+    public ProductCatalogCache(
+            @Value("${app.cache.product.max-size:10000}") int productMaxSize,
+            @Value("${app.cache.product.category-max-size:200}") int categoryMaxSize,
+            @Value("${app.cache.product.comparison-max-size:500}") int comparisonMaxSize,
+            @Value("${app.cache.product.ttl-seconds:600}") long ttlSeconds) {
+        this.byId = new BoundedTtlCache<>("productById", productMaxSize, ttlSeconds, TimeUnit.SECONDS);
+        this.byCategory = new BoundedTtlCache<>("productsByCategory", categoryMaxSize, ttlSeconds, TimeUnit.SECONDS);
+        this.available = new BoundedTtlCache<>("availableProducts", 1, ttlSeconds, TimeUnit.SECONDS);
+        this.comparisons = new BoundedTtlCache<>("productComparisons", comparisonMaxSize, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    public ProductDTO getById(Integer id, Function<Integer, ProductDTO> loader) {
+        return byId.getOrLoad(id, loader);
+    }
+
+    public Map<Integer, ProductDTO> getByIds(Collection<Integer> ids,
+            Function<Set<Integer>, Map<Integer, ProductDTO>> loader) {
+        return byId.getAllOrLoad(ids, loader);
+    }
+
+    public List<ProductDTO> getByCategory(String category, Function<String, List<ProductDTO>> loader) {
+        return byCategory.getOrLoad(category, key -> List.copyOf(loader.apply(key)));
+    }
+
+    public List<ProductDTO> getAvailable(Supplier<List<ProductDTO>> loader) {
+        return available.getOrLoad(AVAILABLE_KEY, key -> List.copyOf(loader.get()));
+    }
+
+    public ProductComparisonDTO getComparison(String versionedKey, Function<String, ProductComparisonDTO> loader) {
+        return comparisons.getOrLoad(versionedKey, loader);
+    }
+
+    /**
+     * Drop exactly the entries the change can affect: the product itself, the old and
+     * new category lists, and the available list if the product was or is available.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onProductChanged(ProductChangedEvent event) {
+        byId.invalidate(event.getProductId());
+
+        Product previous = event.getPrevious();
+        Product current = event.getCurrent();
+        if (previous != null && previous.getCategory() != null) {
+            byCategory.invalidate(previous.getCategory());
+        }
+        if (current != null && current.getCategory() != null) {
+            byCategory.invalidate(current.getCategory());
+        }
+        if ((previous != null && previous.isProductAvailable()) || (current != null && current.isProductAvailable())) {
+            available.invalidate(AVAILABLE_KEY);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("byId", byId.stats());
+        stats.put("byCategory", byCategory.stats());
+        stats.put("available", available.stats());
+        stats.put("comparisons", comparisons.stats());
+        return stats;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.productmanagement.config;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -37,8 +38,11 @@ public class SecurityConfig {
                     // Public endpoints
                     .requestMatchers("/api/auth/**").permitAll()
                     .requestMatchers("/api/user/register").permitAll()
-                    .requestMatchers("/api/product/all", "/api/product/{id}", "/api/product/search").permitAll()
+                    .requestMatchers("/api/product/all", "/api/product/page", "/api/product/{id}", "/api/product/search",
+                            "/api/product/suggest", "/api/product/facets", "/api/product/filter",
+                            "/api/product/batch", "/api/product/compare", "/api/product/*/similar", "/api/product/*/image-status").permitAll()
                     .requestMatchers("/api/hero/active").permitAll() // Public access to active hero images
+                    .requestMatchers(HttpMethod.GET, "/api/hero/*/image").permitAll() // Hero image bytes (versioned, cacheable)
                     .requestMatchers("/uploads/**").permitAll() // Allow public access to uploaded images
                     // Admin only endpoints
                     .requestMatchers("/api/product/create", "/api/product/update-with-image/**", "/api/product/delete/**").hasRole("ADMIN")
@@ -1,19 +1,41 @@
 package com.example.productmanagement.controller;
 
+import com.example.productmanagement.cache.ActiveHeroSnapshot;
 import com.example.productmanagement.model.HeroImage;
+import com.example.productmanagement.model.HeroImageData;
+import com.example.productmanagement.model.HeroImageVariant;
+import com.example.productmanagement.repository.HeroImageDataRepository;
 import com.example.productmanagement.repository.HeroImageRepository;
+import com.example.productmanagement.repository.HeroImageVariantRepository;
+import com.example.productmanagement.service.FileStorageService;
+import com.example.productmanagement.service.FileStorageService.StagedUpload;
+import com.example.productmanagement.service.ImageDerivativeService;
+import org.hibernate.engine.jdbc.BlobProxy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.Base64;
-import java.util.HashMap;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Blob;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @RestController
@@ -21,33 +43,33 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = {"http://localhost:5173", "http://localhost:5174"})
 public class HeroImageController {
 
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
     @Autowired
     private HeroImageRepository heroImageRepository;
 
-    // Get all active hero images (public access)
+    @Autowired
+    private HeroImageDataRepository heroImageDataRepository;
+
+    @Autowired
+    private HeroImageVariantRepository heroImageVariantRepository;
+
+    @Autowired
+    private ActiveHeroSnapshot activeHeroes;
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Get all active hero images (public access), served from memory
     @GetMapping("/active")
     public ResponseEntity<List<Map<String, Object>>> getActiveHeroImages() {
-        List<HeroImage> heroImages = heroImageRepository.findByActiveTrueOrderByDisplayOrderAsc();
-        
-        List<Map<String, Object>> response = heroImages.stream().map(hero -> {
-            Map<String, Object> heroData = new HashMap<>();
-            heroData.put("id", hero.getId());
-            heroData.put("title", hero.getTitle());
-            heroData.put("description", hero.getDescription());
-            heroData.put("buttonText", hero.getButtonText());
-            heroData.put("buttonLink", hero.getButtonLink());
-            heroData.put("displayOrder", hero.getDisplayOrder());
-            
-            if (hero.getImageData() != null) {
-                String base64Image = Base64.getEncoder().encodeToString(hero.getImageData());
-                heroData.put("imageBase64", base64Image);
-                heroData.put("imageType", hero.getImageType());
-            }
-            
-            return heroData;
-        }).collect(Collectors.toList());
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(activeHeroes.get());
     }
 
     // Get all hero images (admin only)
@@ -55,30 +77,73 @@ public class HeroImageController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Map<String, Object>>> getAllHeroImages() {
         List<HeroImage> heroImages = heroImageRepository.findAll();
+        Map<Integer, List<Integer>> widths = activeHeroes.variantWidths();
         
         List<Map<String, Object>> response = heroImages.stream().map(hero -> {
-            Map<String, Object> heroData = new HashMap<>();
-            heroData.put("id", hero.getId());
-            heroData.put("title", hero.getTitle());
-            heroData.put("description", hero.getDescription());
-            heroData.put("buttonText", hero.getButtonText());
-            heroData.put("buttonLink", hero.getButtonLink());
-            heroData.put("displayOrder", hero.getDisplayOrder());
+            Map<String, Object> heroData = activeHeroes.metadata(hero, widths.getOrDefault(hero.getId(), List.of()));
             heroData.put("active", hero.getActive());
             heroData.put("createdAt", hero.getCreatedAt());
-            
-            if (hero.getImageData() != null) {
-                String base64Image = Base64.getEncoder().encodeToString(hero.getImageData());
-                heroData.put("imageBase64", base64Image);
-                heroData.put("imageType", hero.getImageType());
-            }
-            
             return heroData;
         }).collect(Collectors.toList());
         
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Hero image bytes (public, also for inactive heroes so the admin page can preview them).
+     * The list endpoints link here with ?v=&lt;content hash&gt;; a URL with the current version
+     * never changes and is cached as immutable, anything else is revalidated by ETag.
+     * With ?w= (the srcset URLs) the narrowest recompressed variant at least that wide is
+     * sent; the original otherwise. The width is only ever taken from the URL, so every
+     * representation has its own cache key.
+     */
+    @GetMapping("/{id}/image")
+    public ResponseEntity<Resource> getHeroImage(
+            @PathVariable Integer id,
+            @RequestParam(value = "v", required = false) String version,
+            @RequestParam(value = "w", required = false) Integer w,
+            WebRequest request) throws SQLException {
+        HeroImage hero = heroImageRepository.findById(id).orElse(null);
+        if (hero == null || hero.getImageType() == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Integer width = w != null ? variantWidth(id, w) : null;
+
+        String currentVersion = ActiveHeroSnapshot.imageVersion(hero);
+        String etag = "\"hero-" + id + "-" + currentVersion + (width != null ? "-w" + width : "") + "\"";
+        CacheControl cacheControl = currentVersion.equals(version) ? IMMUTABLE : CacheControl.noCache().cachePublic();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        Blob blob;
+        MediaType contentType;
+        if (width != null) {
+            HeroImageVariant variant = heroImageVariantRepository.findById(new HeroImageVariant.Key(id, width)).orElse(null);
+            if (variant == null) {
+                return ResponseEntity.notFound().build();
+            }
+            blob = variant.getImageData();
+            contentType = MediaType.IMAGE_JPEG;
+        } else {
+            HeroImageData data = heroImageDataRepository.findById(id).orElse(null);
+            if (data == null) {
+                return ResponseEntity.notFound().build();
+            }
+            blob = data.getImageData();
+            contentType = MediaType.parseMediaType(hero.getImageType());
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(contentType)
+                .contentLength(blob.length())
+                .body(new InputStreamResource(blob.getBinaryStream()));
+    }
+
     // Upload hero image (admin only)
     @PostMapping("/upload")
     @PreAuthorize("hasRole('ADMIN')")
@@ -91,7 +156,13 @@ public class HeroImageController {
             @RequestParam(value = "active", required = false, defaultValue = "true") Boolean active,
             @RequestParam("image") MultipartFile image) {
         
+        StagedUpload upload = null;
+        Map<Integer, Path> variants = Map.of();
         try {
+            // Validated and spooled to disk through a small buffer, never held in heap
+            upload = fileStorageService.stage(image);
+            variants = renderVariants(upload);
+
             HeroImage heroImage = new HeroImage();
             heroImage.setTitle(title);
             heroImage.setDescription(description);
@@ -100,16 +171,22 @@ public class HeroImageController {
             heroImage.setDisplayOrder(displayOrder);
             heroImage.setActive(active);
             heroImage.setImageName(image.getOriginalFilename());
-            heroImage.setImageType(image.getContentType());
-            heroImage.setImageData(image.getBytes());
-            
-            HeroImage saved = heroImageRepository.save(heroImage);
+            heroImage.setImageType(upload.contentType());
+            heroImage.setImageHash(upload.digest());
+
+            HeroImage saved = saveWithImage(heroImage, upload, variants);
+            activeHeroes.refresh();
             
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(Map.of("message", "Hero image uploaded successfully", "id", saved.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Failed to upload hero image: " + e.getMessage()));
+        } finally {
+            fileStorageService.discard(upload);
+            discardVariants(variants);
         }
     }
 
@@ -135,18 +212,31 @@ public class HeroImageController {
                     if (displayOrder != null) hero.setDisplayOrder(displayOrder);
                     if (active != null) hero.setActive(active);
                     
-                    if (image != null && !image.isEmpty()) {
-                        try {
-                            hero.setImageName(image.getOriginalFilename());
-                            hero.setImageType(image.getContentType());
-                            hero.setImageData(image.getBytes());
-                        } catch (IOException e) {
-                            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                                    .body(Map.of("error", "Failed to update image: " + e.getMessage()));
-                        }
+                    if (image == null || image.isEmpty()) {
+                        heroImageRepository.save(hero);
+                        activeHeroes.refresh();
+                        return ResponseEntity.ok(Map.of("message", "Hero image updated successfully"));
+                    }
+
+                    StagedUpload upload = null;
+                    Map<Integer, Path> variants = Map.of();
+                    try {
+                        upload = fileStorageService.stage(image);
+                        variants = renderVariants(upload);
+                        hero.setImageName(image.getOriginalFilename());
+                        hero.setImageType(upload.contentType());
+                        hero.setImageHash(upload.digest());
+                        saveWithImage(hero, upload, variants);
+                        activeHeroes.refresh();
+                    } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+                    } catch (IOException e) {
+                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                .body(Map.of("error", "Failed to update image: " + e.getMessage()));
+                    } finally {
+                        fileStorageService.discard(upload);
+                        discardVariants(variants);
                     }
-                    
-                    heroImageRepository.save(hero);
                     return ResponseEntity.ok(Map.of("message", "Hero image updated successfully"));
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -158,7 +248,9 @@ public class HeroImageController {
     public ResponseEntity<?> deleteHeroImage(@PathVariable Integer id) {
         return heroImageRepository.findById(id)
                 .map(hero -> {
+                    // hero_image_data goes with it (ON DELETE CASCADE)
                     heroImageRepository.delete(hero);
+                    activeHeroes.refresh();
                     return ResponseEntity.ok(Map.of("message", "Hero image deleted successfully"));
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -172,8 +264,75 @@ public class HeroImageController {
                 .map(hero -> {
                     hero.setActive(!hero.getActive());
                     heroImageRepository.save(hero);
+                    activeHeroes.refresh();
                     return ResponseEntity.ok(Map.of("message", "Status toggled", "active", hero.getActive()));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    // Hero row, image bytes and variants in one transaction, so a hero never points at a
+    // missing image or keeps variants of the image it replaced
+    private HeroImage saveWithImage(HeroImage hero, StagedUpload upload, Map<Integer, Path> variants) throws IOException {
+        try (InputStream data = Files.newInputStream(upload.file())) {
+            return transactionTemplate.execute(status -> {
+                HeroImage saved = heroImageRepository.save(hero);
+                heroImageDataRepository.save(new HeroImageData(saved.getId(), BlobProxy.generateProxy(data, upload.size())));
+                heroImageVariantRepository.deleteByHeroId(saved.getId());
+                for (Map.Entry<Integer, Path> variant : variants.entrySet()) {
+                    // Flushed while the stream is open; the blob is only read on insert
+                    try (InputStream in = Files.newInputStream(variant.getValue())) {
+                        heroImageVariantRepository.saveAndFlush(new HeroImageVariant(saved.getId(), variant.getKey(),
+                                BlobProxy.generateProxy(in, Files.size(variant.getValue()))));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return saved;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Width -> recompressed JPEG in the staging directory. Only variants smaller than the
+    // upload are kept; none at all when ImageIO can't decode it, the original is served then.
+    private Map<Integer, Path> renderVariants(StagedUpload upload) {
+        Map<Integer, Path> variants = new TreeMap<>();
+        Path staging = fileStorageService.stagingRoot();
+        try {
+            imageDerivativeService.generateWidths(upload.file(), staging, ImageDerivativeService.HERO_WIDTHS,
+                    (width, file) -> {
+                        if (Files.size(file) < upload.size()) {
+                            Path kept = Files.createTempFile(staging, ".hero-", ".jpg");
+                            Files.move(file, kept, StandardCopyOption.REPLACE_EXISTING);
+                            variants.put(Integer.valueOf(width), kept);
+                        }
+                    });
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not generate hero image variants: " + e.getMessage());
+            discardVariants(variants);
+            return Map.of();
+        }
+        return variants;
+    }
+
+    private static void discardVariants(Map<Integer, Path> variants) {
+        for (Path file : variants.values()) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // Swept with the staging directory by the upload cleanup
+            }
+        }
+    }
+
+    // Narrowest stored variant at least requested wide; null to send the original
+    Integer variantWidth(Integer id, int requested) {
+        for (Integer width : heroImageVariantRepository.findWidthsByHeroId(id)) {
+            if (width >= requested) {
+                return width;
+            }
+        }
+        return null;
+    }
 }
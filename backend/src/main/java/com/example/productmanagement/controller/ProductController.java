@@ -1,13 +1,22 @@
 package com.example.productmanagement.controller;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,15 +24,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.productmanagement.cache.CatalogVersions;
+import com.example.productmanagement.dto.ImageStatusDTO;
 import com.example.productmanagement.dto.ProductDTO;
 import com.example.productmanagement.exception.ResourceNotFoundException;
 import com.example.productmanagement.model.Product;
-import com.example.productmanagement.service.FileStorageService;
+import com.example.productmanagement.search.ProductFacetIndex;
+import com.example.productmanagement.service.ProductComparisonService;
+import com.example.productmanagement.service.ProductExportService;
+import com.example.productmanagement.service.ProductImportService;
 import com.example.productmanagement.service.ProductService;
 
 import jakarta.validation.Valid;
@@ -38,26 +55,54 @@ public class ProductController {
     private ProductService productService;
 
     @Autowired
-    private FileStorageService fileStorageService;
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private ProductComparisonService productComparisonService;
+
+    @Autowired
+    private ProductImportService productImportService;
 
     @GetMapping("/all")
-    public ResponseEntity<List<ProductDTO>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProductsWithImage());
+    public ResponseEntity<List<ProductDTO>> getAllProducts(WebRequest request) {
+        return conditionalGet(request, catalogVersions.catalog(), productService::getAllProductsWithImage);
+    }
+
+    /**
+     * Cursor-paginated listing: /api/product/page?sort=price&direction=asc&size=20&cursor=...
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getProductPage(
+            @RequestParam(value = "sort", required = false, defaultValue = "id") String sort,
+            @RequestParam(value = "direction", required = false, defaultValue = "asc") String direction,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            WebRequest request) {
+        try {
+            return conditionalGet(request, catalogVersions.catalog(),
+                    () -> productService.getProductPage(sort, direction, size, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDTO> getProductById(@PathVariable Integer id) {
-        return ResponseEntity.ok(productService.getProductByIdDTO(id));
+    public ResponseEntity<ProductDTO> getProductById(@PathVariable Integer id, WebRequest request) {
+        return conditionalGet(request, catalogVersions.product(id), () -> productService.getProductByIdDTO(id));
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<ProductDTO>> getProductsByCategory(@PathVariable String category) {
-        return ResponseEntity.ok(productService.getProductsByCategoryDTO(category));
+    public ResponseEntity<List<ProductDTO>> getProductsByCategory(@PathVariable String category, WebRequest request) {
+        return conditionalGet(request, catalogVersions.catalog(),
+                () -> productService.getProductsByCategoryDTO(category));
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<ProductDTO>> getAvailableProducts() {
-        return ResponseEntity.ok(productService.getAvailableProductsDTO());
+    public ResponseEntity<List<ProductDTO>> getAvailableProducts(WebRequest request) {
+        return conditionalGet(request, catalogVersions.catalog(), productService::getAvailableProductsDTO);
     }
 
     @PostMapping("/create")
@@ -69,7 +114,11 @@ public class ProductController {
     @PutMapping("/update/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> updateProduct(@PathVariable Integer id, @RequestBody ProductDTO dto) {
-        productService.updateProductFromDTO(id, dto);
+        try {
+            productService.updateProductFromDTO(id, dto);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
         return ResponseEntity.ok("Product updated successfully!");
     }
 
@@ -94,10 +143,12 @@ public class ProductController {
                     id, name, description, brand, price, category,
                     productAvailable, stockQuantity,
                     specifications, warranty, condition,
-                    imageFile, fileStorageService
+                    imageFile
             );
 
             return ResponseEntity.ok(updatedProduct);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (IOException | ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error updating product: " + e.getMessage());
@@ -132,7 +183,7 @@ public class ProductController {
 
     @PostMapping(value = "/with-image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Product> createProductWithImage(
+    public ResponseEntity<?> createProductWithImage(
             @RequestParam("name") String name,
             @RequestParam("description") String description,
             @RequestParam("brand") String brand,
@@ -145,16 +196,282 @@ public class ProductController {
             @RequestParam(value = "condition", required = false) String condition,
             @RequestParam(value = "image", required = false) MultipartFile imageFile) throws IOException {
 
-        Product product = productService.createProductWithImage(
-                name, description, brand, price, category,
-                productAvailable, stockQuantity, specifications, warranty, condition, imageFile
-        );
+        try {
+            Product product = productService.createProductWithImage(
+                    name, description, brand, price, category,
+                    productAvailable, stockQuantity, specifications, warranty, condition, imageFile
+            );
+
+            return new ResponseEntity<>(product, HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Typeahead: /api/product/suggest?q=del&limit=8
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(productService.suggest(query, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Faceted filtering: /api/product/facets?brand=Dell&brand=HP&price=50000-100000&available=true
+     * Repeat a parameter to OR values within a facet; different facets are AND-ed.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<?> getFacets(
+            @RequestParam MultiValueMap<String, String> params,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        Map<String, Set<String>> filters = new HashMap<>();
+        for (String facet : ProductFacetIndex.FACETS) {
+            List<String> values = params.get(facet);
+            if (values != null && !values.isEmpty()) {
+                filters.put(facet, new HashSet<>(values));
+            }
+        }
+        try {
+            return ResponseEntity.ok(productService.getFacets(filters, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Several products in one round trip: /api/product/batch?ids=3,7,42
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<?> getProductsBatch(@RequestParam("ids") List<Integer> ids) {
+        try {
+            return ResponseEntity.ok(productService.getProductsByIds(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Same as GET /batch for id lists too long for a URL; body is a JSON array of ids
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> postProductsBatch(@RequestBody List<Integer> ids) {
+        try {
+            return ResponseEntity.ok(productService.getProductsByIds(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Side-by-side comparison of 2-4 products: /api/product/compare?ids=3,7,42
+     */
+    @GetMapping("/compare")
+    public ResponseEntity<?> compareProducts(@RequestParam("ids") List<Integer> ids) {
+        try {
+            return ResponseEntity.ok(productComparisonService.compare(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * "Similar laptops" for a product page: /api/product/42/similar?k=6
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<?> getSimilarProducts(
+            @PathVariable Integer id,
+            @RequestParam(value = "k", required = false) Integer k) {
+        try {
+            return ResponseEntity.ok(productService.getSimilarProducts(id, k));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Derivative job status for a product's image: /api/product/42/image-status
+     */
+    @GetMapping("/{id}/image-status")
+    public ResponseEntity<ImageStatusDTO> getImageStatus(@PathVariable Integer id) {
+        return ResponseEntity.ok(productService.getImageStatus(id));
+    }
+
+    @GetMapping("/images/queue")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getImageQueueStats() {
+        return ResponseEntity.ok(productService.getImageQueueStats());
+    }
+
+    /**
+     * Upload cleanup: GET reports totals and the last run, POST runs a collection now
+     */
+    @GetMapping("/images/cleanup")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getUploadCleanupStats() {
+        return ResponseEntity.ok(productService.getUploadCleanupStats());
+    }
+
+    @PostMapping("/images/cleanup")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> collectUnusedUploads() {
+        try {
+            return ResponseEntity.ok(productService.collectUnusedUploads());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Spec filtering: /api/product/filter?ram>=16&cpu=i7&screen<=14
+     * Supported: ram, storage (GB), screen (inches) with =, >, >=, <, <= and cpu, gpu with =.
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<?> filterProducts(
+            @RequestParam MultiValueMap<String, String> params,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        // "ram>=16" arrives as key "ram>" with value "16"; "ram>16" as key "ram>16" with no value
+        List<String> expressions = new ArrayList<>();
+        for (Map.Entry<String, List<String>> param : params.entrySet()) {
+            if (param.getKey().equals("limit")) {
+                continue;
+            }
+            for (String value : param.getValue()) {
+                expressions.add(value == null || value.isEmpty() ? param.getKey() : param.getKey() + "=" + value);
+            }
+        }
+        try {
+            return ResponseEntity.ok(productService.filterProducts(expressions, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Full catalog feed as NDJSON, streamed straight from a database cursor.
+     * Gzip is used when requested with ?gzip=true, or when ?gzip is absent and Accept-Encoding
+     * allows it (q &gt; 0); negotiated responses carry Vary: Accept-Encoding.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCatalog(
+            @RequestParam(value = "gzip", required = false) Boolean gzip,
+            @RequestHeader(value = "Accept-Encoding", required = false) String acceptEncoding) {
+        boolean compress = gzip != null ? gzip : acceptsGzip(acceptEncoding);
 
-        return new ResponseEntity<>(product, HttpStatus.CREATED);
+        StreamingResponseBody body = out -> productExportService.exportNdjson(out, compress);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.ndjson"
+                        + (compress ? ".gz" : "") + "\"");
+        if (compress) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        if (gzip == null) {
+            response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        }
+        return response.body(body);
     }
 
+    // "gzip", "x-gzip" or "*" with a non-zero q-value; an explicit gzip;q=0 wins over "*"
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase();
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0.0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (name.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return wildcardQuality != null && wildcardQuality > 0;
+    }
+
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(productService.getCacheStats());
+    }
+
+    /**
+     * Full-text search: /api/product/search?q=dell i7 16gb&limit=20
+     * The legacy ?brand= parameter still performs the old brand-only lookup.
+     */
     @GetMapping("/search")
-    public ResponseEntity<List<Product>> searchByBrand(@RequestParam String brand) {
-        return ResponseEntity.ok(productService.searchByBrand(brand));
+    public ResponseEntity<?> search(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "brand", required = false) String brand,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        try {
+            if (query != null && !query.isBlank()) {
+                return ResponseEntity.ok(productService.searchProducts(query, limit));
+            }
+            if (brand != null) {
+                return ResponseEntity.ok(productService.searchByBrand(brand));
+            }
+            return ResponseEntity.badRequest().body(Map.of("error", "Either q or brand is required"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Bulk import from a CSV (header row with Product field names) or JSON array file.
+     * Reports per-row validation errors and throughput.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importProducts(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "batchSize", required = false) Integer batchSize) {
+        try {
+            return ResponseEntity.ok(productImportService.importProducts(file, batchSize));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Could not read import file: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Answer If-None-Match / If-Modified-Since from the in-memory version counters.
+     * On a match the body supplier is never called: no database access, no serialization.
+     */
+    private <T> ResponseEntity<T> conditionalGet(WebRequest request, CatalogVersions.Stamp stamp, Supplier<T> body) {
+        if (request.checkNotModified(stamp.etag(), stamp.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(stamp.etag())
+                    .lastModified(stamp.lastModified())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(stamp.etag())
+                .lastModified(stamp.lastModified())
+                .cacheControl(CacheControl.noCache())
+                .body(body.get());
     }
-}
\ No newline at end of file
+}
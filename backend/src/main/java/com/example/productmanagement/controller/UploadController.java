@@ -0,0 +1,199 @@
+package com.example.productmanagement.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.example.productmanagement.service.FileStorageService;
+import com.example.productmanagement.service.ImageDerivativeService;
+import com.example.productmanagement.storage.StoredObject;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Serves /uploads/** with zero-copy transfers: Tomcat's sendfile when the connector
+ * offers it, otherwise FileChannel.transferTo. Objects in remote storage are streamed. Supports single byte ranges and
+ * If-None-Match / If-Modified-Since. Content-addressed files never change, so they are
+ * cached for a year as immutable; everything else keeps the old one-hour cache.
+ * Variant URLs answer with a placeholder while their derivatives are being generated.
+ */
+@Controller
+public class UploadController {
+
+    private static final String PATTERN = "/uploads/**";
+
+    // Tomcat request attributes for sendfile (see org.apache.coyote.Constants)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+    private static final CacheControl MUTABLE = CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic();
+
+    // Neutral grey box shown while a derivative is still being generated
+    private static final byte[] PLACEHOLDER = ("<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 4 3\">"
+            + "<rect width=\"4\" height=\"3\" fill=\"#e5e7eb\"/></svg>").getBytes(StandardCharsets.UTF_8);
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @GetMapping(PATTERN)
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+        String relativePath = pathMatcher.extractPathWithinPattern(PATTERN, path);
+        StoredObject object = fileStorageService.resolveForServing(relativePath);
+        if (object == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // A derivative served by its original's fallback will change once generated
+        boolean exact = object.key().equals(relativePath);
+        String name = ImageDerivativeService.originalOf(relativePath);
+        if (!exact && name != null && fileStorageService.isProcessing(name)) {
+            // Not cached, so the next request picks up the real derivative
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            response.setContentType("image/svg+xml");
+            response.setContentLength(PLACEHOLDER.length);
+            if (!"HEAD".equals(request.getMethod())) {
+                response.getOutputStream().write(PLACEHOLDER);
+            }
+            return;
+        }
+
+        long length = object.size();
+        long lastModified = object.lastModified().toEpochMilli();
+        boolean immutable = exact && FileStorageService.isContentAddressed(name != null ? name : relativePath);
+        String etag = immutable
+                ? "\"" + relativePath.replace('/', '-') + "\""
+                : "W/\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, (immutable ? IMMUTABLE : MUTABLE).getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+        MediaType contentType = MediaTypeFactory.getMediaType(object.key())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setContentType(contentType.toString());
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // If-Range with a different validator means "the whole file"
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        Path file = object.localFile();
+        if (file == null) {
+            // Remote storage: stream the requested range through
+            try (InputStream in = fileStorageService.open(object, start, end)) {
+                OutputStream out = response.getOutputStream();
+                in.transferTo(out);
+                out.flush();
+            }
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat copies from the page cache straight to the socket after we return
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            while (position <= end) {
+                long sent = channel.transferTo(position, end + 1 - position, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Parses a Range header against the file length: {start, end} (inclusive) for one
+     * satisfiable range, an empty array to ignore the header (multiple ranges, other units,
+     * malformed), null when unsatisfiable.
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.contains(",")) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // "bytes=-500": the last 500 bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            }
+            if (start >= length || start > end) {
+                return null;
+            }
+            return new long[] { start, end };
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.productmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComparisonRowDTO {
+    // Attribute key, e.g. "ramGb"
+    private String attribute;
+    // Display label, e.g. "RAM (GB)"
+    private String label;
+    // One value per compared product, in column order; null when unknown
+    private List<Object> values = new ArrayList<>();
+    // True when the known values are not all the same
+    private boolean different;
+    // Ids of the products with the best value (lowest price, most RAM, ...); empty when not ranked
+    private List<Integer> bestProductIds = new ArrayList<>();
+}
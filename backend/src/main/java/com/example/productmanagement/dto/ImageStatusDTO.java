@@ -0,0 +1,15 @@
+package com.example.productmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageStatusDTO {
+    private Integer productId;
+    private String imagePath;
+    // NONE (no image), QUEUED, PROCESSING, READY or UNAVAILABLE (original only)
+    private String status;
+}
@@ -0,0 +1,18 @@
+package com.example.productmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchDTO {
+    // Found products, in the order their ids were requested
+    private List<ProductDTO> items = new ArrayList<>();
+    // Requested ids with no product
+    private List<Integer> missingIds = new ArrayList<>();
+}
@@ -0,0 +1,17 @@
+package com.example.productmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductComparisonDTO {
+    // Compared products, one column each, in ascending id order
+    private List<ProductDTO> products = new ArrayList<>();
+    private List<ComparisonRowDTO> rows = new ArrayList<>();
+}
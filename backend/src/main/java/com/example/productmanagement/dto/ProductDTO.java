@@ -1,6 +1,7 @@
 package com.example.productmanagement.dto;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 
@@ -38,7 +39,8 @@ public class ProductDTO {
     @NotBlank(message = "Category is required")
     private String category;
 
-    private boolean productAvailable;
+    // Null in a patch leaves the stored value alone
+    private Boolean productAvailable;
 
     @Min(value = 0, message = "Stock quantity cannot be negative")
     private Integer stockQuantity;
@@ -52,9 +54,6 @@ public class ProductDTO {
     // Image fields
     private String imagePath;
     private String imageUrl;
-
-    // Getter for boolean field following Java naming convention
-    public boolean isProductAvailable() {
-        return productAvailable;
-    }
+    // Resized JPEGs by name (thumb, card, detail) -> URL; listings should prefer these
+    private Map<String, String> imageVariants;
 }
@@ -0,0 +1,22 @@
+package com.example.productmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetResultDTO {
+    // Number of products matching every selected filter
+    private int total;
+    // facet name -> values with counts, e.g. "brand" -> [{"Dell", 42}, {"HP", 17}]
+    private Map<String, List<FacetValueDTO>> facets = new LinkedHashMap<>();
+    // First page of matching products, ordered by id
+    private List<ProductDTO> items = new ArrayList<>();
+}
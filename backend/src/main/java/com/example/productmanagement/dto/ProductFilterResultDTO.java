@@ -0,0 +1,20 @@
+package com.example.productmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilterResultDTO {
+    // Filters as understood by the server, e.g. ["ram>=16", "cpu=i7"]
+    private List<String> filters = new ArrayList<>();
+    // Number of products matching every filter
+    private int total;
+    // First page of matching products, ordered by id
+    private List<ProductDTO> items = new ArrayList<>();
+}
@@ -0,0 +1,17 @@
+package com.example.productmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportErrorDTO {
+    // CSV: line the row starts on, counting the header as line 1; JSON: 1-based array index
+    private int row;
+    private List<String> messages = new ArrayList<>();
+}
@@ -0,0 +1,25 @@
+package com.example.productmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResultDTO {
+    private int totalRows;
+    private int imported;
+    // Rows rejected by validation plus rows of batches that failed to commit; all listed in errors
+    private int failed;
+    private List<ProductImportErrorDTO> errors = new ArrayList<>();
+    // True when more rows failed than are listed in errors
+    private boolean errorsTruncated;
+    private int batchSize;
+    private long elapsedMillis;
+    // Inserted rows per second
+    private double rowsPerSecond;
+}
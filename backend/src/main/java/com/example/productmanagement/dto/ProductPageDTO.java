@@ -0,0 +1,25 @@
+package com.example.productmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductPageDTO {
+
+    private List<ProductDTO> items = new ArrayList<>();
+    private String sort;
+    private String direction;
+    private Integer size;
+    private boolean hasMore;
+    // Opaque token to pass back as ?cursor= for the next page (null on the last page)
+    private String nextCursor;
+}
@@ -0,0 +1,16 @@
+package com.example.productmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDTO {
+    private String text;
+    // "name", "brand" or "category"
+    private String type;
+    // Popularity: how many (available) products back this completion
+    private int weight;
+}
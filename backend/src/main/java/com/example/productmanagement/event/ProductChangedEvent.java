@@ -0,0 +1,45 @@
+package com.example.productmanagement.event;
+
+import com.example.productmanagement.model.Product;
+
+import lombok.Getter;
+
+/**
+ * Published by ProductService after a product is created, updated or deleted.
+ * In-memory read models (caches, indexes) listen for it to stay in sync with the database.
+ */
+@Getter
+public class ProductChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final ChangeType type;
+    private final Integer productId;
+    // Detached copy of the product before the change (null for CREATED)
+    private final Product previous;
+    // Detached copy of the product after the change (null for DELETED)
+    private final Product current;
+
+    public ProductChangedEvent(ChangeType type, Integer productId, Product previous, Product current) {
+        this.type = type;
+        this.productId = productId;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public static ProductChangedEvent created(Product current) {
+        return new ProductChangedEvent(ChangeType.CREATED, current.getId(), null, current);
+    }
+
+    public static ProductChangedEvent updated(Product previous, Product current) {
+        return new ProductChangedEvent(ChangeType.UPDATED, current.getId(), previous, current);
+    }
+
+    public static ProductChangedEvent deleted(Product previous) {
+        return new ProductChangedEvent(ChangeType.DELETED, previous.getId(), previous, null);
+    }
+}
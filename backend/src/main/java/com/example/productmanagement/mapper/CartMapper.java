@@ -0,0 +1,66 @@
+package com.example.productmanagement.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.productmanagement.dto.CartDTO;
+import com.example.productmanagement.dto.CartItemDTO;
+import com.example.productmanagement.model.Cart;
+import com.example.productmanagement.model.CartItem;
+import com.example.productmanagement.model.Product;
+
+/**
+ * Hand-written Cart/CartItem -> DTO mapping. Shipping and grand total are
+ * business rules and are filled in by CartService.
+ */
+@Component
+public class CartMapper {
+
+    private final String imageUrlPrefix;
+
+    public CartMapper(@Value("${app.base-url}") String baseUrl) {
+        this.imageUrlPrefix = baseUrl + "/";
+    }
+
+    public CartDTO toDto(Cart cart) {
+        CartDTO dto = new CartDTO();
+        dto.setId(cart.getId());
+        dto.setUserId(cart.getUser() != null ? cart.getUser().getId() : null);
+        dto.setSessionId(cart.getSessionId());
+        dto.setTotalAmount(cart.getTotalAmount());
+        dto.setTotalItems(cart.getTotalItems());
+
+        List<CartItem> items = cart.getItems();
+        List<CartItemDTO> itemDtos = new ArrayList<>(items.size());
+        for (CartItem item : items) {
+            itemDtos.add(toItemDto(item));
+        }
+        dto.setItems(itemDtos);
+        return dto;
+    }
+
+    public CartItemDTO toItemDto(CartItem item) {
+        Product product = item.getProduct();
+
+        CartItemDTO dto = new CartItemDTO();
+        dto.setId(item.getId());
+        dto.setCartId(item.getCart().getId());
+        dto.setProductId(product.getId());
+        dto.setProductName(product.getName());
+        dto.setProductBrand(product.getBrand());
+
+        if (product.getImagePath() != null) {
+            dto.setProductImageUrl(imageUrlPrefix + product.getImagePath());
+        }
+
+        dto.setUnitPrice(item.getUnitPrice());
+        dto.setQuantity(item.getQuantity());
+        dto.setSubtotal(item.getSubtotal());
+        dto.setStockQuantity(product.getStockQuantity());
+        dto.setInStock(product.getStockQuantity() > 0);
+        return dto;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.productmanagement.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.productmanagement.dto.OrderDTO;
+import com.example.productmanagement.dto.OrderItemDTO;
+import com.example.productmanagement.model.Order;
+import com.example.productmanagement.model.OrderItem;
+
+/**
+ * Hand-written Order/OrderItem -> DTO mapping
+ */
+@Component
+public class OrderMapper {
+
+    private final String baseUrl;
+
+    public OrderMapper(@Value("${app.base-url}") String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public OrderDTO toDto(Order order) {
+        OrderDTO dto = new OrderDTO();
+        dto.setId(order.getId());
+        dto.setOrderNumber(order.getOrderNumber());
+
+        if (order.getUser() != null) {
+            dto.setUserId(order.getUser().getId());
+            dto.setUserName(order.getUser().getUsername());
+            dto.setUserEmail(order.getUser().getEmail());
+        }
+
+        List<OrderItem> items = order.getOrderItems();
+        List<OrderItemDTO> itemDtos = new ArrayList<>(items.size());
+        for (OrderItem item : items) {
+            itemDtos.add(toItemDto(item));
+        }
+        dto.setItems(itemDtos);
+
+        dto.setSubtotal(order.getSubtotal());
+        dto.setShippingCost(order.getShippingCost());
+        dto.setTotalAmount(order.getTotalAmount());
+        dto.setStatus(order.getStatus());
+        dto.setPaymentMethod(order.getPaymentMethod());
+        dto.setShippingFullName(order.getShippingFullName());
+        dto.setShippingEmail(order.getShippingEmail());
+        dto.setShippingPhone(order.getShippingPhone());
+        dto.setShippingAddress(order.getShippingAddress());
+        dto.setShippingCity(order.getShippingCity());
+        dto.setShippingPostalCode(order.getShippingPostalCode());
+        dto.setShippingCountry(order.getShippingCountry());
+        dto.setCreatedAt(order.getCreatedAt());
+        dto.setUpdatedAt(order.getUpdatedAt());
+        dto.setShippedAt(order.getShippedAt());
+        dto.setDeliveredAt(order.getDeliveredAt());
+        dto.setNotes(order.getNotes());
+        return dto;
+    }
+
+    public List<OrderDTO> toDtoList(List<Order> orders) {
+        List<OrderDTO> dtos = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            dtos.add(toDto(order));
+        }
+        return dtos;
+    }
+
+    public OrderItemDTO toItemDto(OrderItem item) {
+        OrderItemDTO dto = new OrderItemDTO();
+        dto.setId(item.getId());
+        dto.setProductId(item.getProduct().getId().longValue());
+        dto.setProductName(item.getProductName());
+        dto.setQuantity(item.getQuantity());
+        dto.setPriceAtPurchase(item.getPriceAtPurchase());
+        dto.setSubtotal(item.getSubtotal());
+        dto.setShippingCost(item.getShippingCost());
+
+        // Handle image URL - convert relative path to full URL if needed
+        String imageUrl = item.getProductImageUrl();
+        if (imageUrl != null && !imageUrl.isEmpty()) {
+            if (!imageUrl.startsWith("http")) {
+                // Old format: relative path like "/uploads/image.jpg" or "uploads/image.jpg"
+                imageUrl = baseUrl + "/" + (imageUrl.startsWith("/") ? imageUrl.substring(1) : imageUrl);
+            }
+            dto.setProductImageUrl(imageUrl);
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.productmanagement.mapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.productmanagement.dto.ProductDTO;
+import com.example.productmanagement.model.Product;
+import com.example.productmanagement.repository.ProductListView;
+import com.example.productmanagement.service.ImageDerivativeService;
+
+/**
+ * Hand-written Product <-> ProductDTO mapping.
+ * Plain getter/setter calls: no reflection, no shared mutable configuration.
+ */
+@Component
+public class ProductMapper {
+
+    // "<base-url>/" computed once instead of concatenating per row
+    private final String imageUrlPrefix;
+
+    public ProductMapper(@Value("${app.base-url}") String baseUrl) {
+        this.imageUrlPrefix = baseUrl + "/";
+    }
+
+    public ProductDTO toDto(Product product) {
+        ProductDTO dto = new ProductDTO();
+        dto.setId(product.getId());
+        dto.setName(product.getName());
+        dto.setDescription(product.getDescription());
+        dto.setBrand(product.getBrand());
+        dto.setPrice(product.getPrice());
+        dto.setCategory(product.getCategory());
+        dto.setProductAvailable(product.isProductAvailable());
+        dto.setStockQuantity(product.getStockQuantity());
+        dto.setSpecifications(product.getSpecifications());
+        dto.setWarranty(product.getWarranty());
+        dto.setCondition(product.getCondition());
+
+        String imagePath = product.getImagePath();
+        if (imagePath != null && !imagePath.isEmpty()) {
+            dto.setImagePath(imagePath);
+            dto.setImageUrl(imageUrlPrefix + imagePath);
+            dto.setImageVariants(imageVariants(imagePath));
+        }
+        return dto;
+    }
+
+    /**
+     * Grid DTO from the list projection (specifications are left null and omitted from JSON)
+     */
+    public ProductDTO toDto(ProductListView product) {
+        ProductDTO dto = new ProductDTO();
+        dto.setId(product.getId());
+        dto.setName(product.getName());
+        dto.setDescription(product.getDescription());
+        dto.setBrand(product.getBrand());
+        dto.setPrice(product.getPrice());
+        dto.setCategory(product.getCategory());
+        dto.setProductAvailable(product.isProductAvailable());
+        dto.setStockQuantity(product.getStockQuantity());
+        dto.setWarranty(product.getWarranty());
+        dto.setCondition(product.getCondition());
+
+        String imagePath = product.getImagePath();
+        if (imagePath != null && !imagePath.isEmpty()) {
+            dto.setImagePath(imagePath);
+            dto.setImageUrl(imageUrlPrefix + imagePath);
+            dto.setImageVariants(imageVariants(imagePath));
+        }
+        return dto;
+    }
+
+    private Map<String, String> imageVariants(String imagePath) {
+        Map<String, String> variants = new LinkedHashMap<>();
+        for (String size : ImageDerivativeService.SIZES.keySet()) {
+            variants.put(size, imageUrlPrefix + ImageDerivativeService.variantPath(imagePath, size));
+        }
+        return variants;
+    }
+
+    public List<ProductDTO> toListDtoList(List<ProductListView> products) {
+        List<ProductDTO> dtos = new ArrayList<>(products.size());
+        for (ProductListView product : products) {
+            dtos.add(toDto(product));
+        }
+        return dtos;
+    }
+
+    public List<ProductDTO> toDtoList(List<Product> products) {
+        List<ProductDTO> dtos = new ArrayList<>(products.size());
+        for (Product product : products) {
+            dtos.add(toDto(product));
+        }
+        return dtos;
+    }
+
+    /**
+     * Copy the non-null DTO fields onto an existing product (PATCH semantics).
+     * The id is never overwritten.
+     */
+    public void applyPatch(ProductDTO dto, Product product) {
+        if (dto.getName() != null) {
+            product.setName(dto.getName());
+        }
+        if (dto.getDescription() != null) {
+            product.setDescription(dto.getDescription());
+        }
+        if (dto.getBrand() != null) {
+            product.setBrand(dto.getBrand());
+        }
+        if (dto.getPrice() != null) {
+            product.setPrice(dto.getPrice());
+        }
+        if (dto.getCategory() != null) {
+            product.setCategory(dto.getCategory());
+        }
+        if (dto.getProductAvailable() != null) {
+            product.setProductAvailable(dto.getProductAvailable());
+        }
+        if (dto.getStockQuantity() != null) {
+            product.setStockQuantity(dto.getStockQuantity());
+        }
+        if (dto.getSpecifications() != null) {
+            product.setSpecifications(dto.getSpecifications());
+        }
+        if (dto.getWarranty() != null) {
+            product.setWarranty(dto.getWarranty());
+        }
+        if (dto.getCondition() != null) {
+            product.setCondition(dto.getCondition());
+        }
+        if (dto.getImagePath() != null) {
+            product.setImagePath(dto.getImagePath());
+        }
+    }
+
+    /**
+     * Detached field-by-field copy of a product
+     */
+    public Product copy(Product product) {
+        Product copy = new Product();
+        copy.setId(product.getId());
+        copy.setName(product.getName());
+        copy.setDescription(product.getDescription());
+        copy.setBrand(product.getBrand());
+        copy.setPrice(product.getPrice());
+        copy.setCategory(product.getCategory());
+        copy.setProductAvailable(product.isProductAvailable());
+        copy.setStockQuantity(product.getStockQuantity());
+        copy.setSpecifications(product.getSpecifications());
+        copy.setWarranty(product.getWarranty());
+        copy.setCondition(product.getCondition());
+        copy.setImagePath(product.getImagePath());
+        return copy;
+    }
+}
@@ -30,9 +30,9 @@ public class HeroImage {
     
     private String imageType;
     
-    @Lob
-    @Column(name = "image_data", columnDefinition = "LONGBLOB")
-    private byte[] imageData;
+    // The bytes live in HeroImageData; this is their SHA-256, null for images stored before it was recorded
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
     
     private Boolean active; // Whether this hero image is currently active
     
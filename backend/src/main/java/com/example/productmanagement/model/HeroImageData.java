@@ -0,0 +1,29 @@
+package com.example.productmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Blob;
+
+/**
+ * Bytes of a hero image, kept apart from HeroImage so metadata queries never load them.
+ * Shares the hero's id; the row is removed with its hero (ON DELETE CASCADE).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "hero_image_data")
+public class HeroImageData {
+
+    @Id
+    @Column(name = "hero_id")
+    private Integer heroId;
+
+    // A Blob rather than byte[] so uploads can be streamed in from a temp file
+    @Lob
+    @Column(name = "image_data", columnDefinition = "LONGBLOB", nullable = false)
+    private Blob imageData;
+}
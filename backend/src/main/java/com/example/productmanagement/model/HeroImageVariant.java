@@ -0,0 +1,41 @@
+package com.example.productmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.sql.Blob;
+
+/**
+ * A hero image scaled to one of ImageDerivativeService.HERO_WIDTHS and recompressed as JPEG.
+ * Removed with its hero (ON DELETE CASCADE).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "hero_image_variants")
+@IdClass(HeroImageVariant.Key.class)
+public class HeroImageVariant {
+
+    @Id
+    @Column(name = "hero_id")
+    private Integer heroId;
+
+    @Id
+    private Integer width;
+
+    @Lob
+    @Column(name = "image_data", columnDefinition = "LONGBLOB", nullable = false)
+    private Blob imageData;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Integer heroId;
+        private Integer width;
+    }
+}
@@ -42,4 +42,7 @@ public class OrderItem {
 
     @Column(columnDefinition = "TEXT")
     private String productImageUrl;
+
+    // Image path as stored on the product ("uploads/abc.jpg"); indexed for FileStorageService.releaseFile
+    private String productImagePath;
 }
@@ -0,0 +1,40 @@
+package com.example.productmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Typed attributes parsed out of Product.specifications so they can be filtered on.
+ * One row per product, keyed by the product id; any field may be null when the
+ * specifications don't mention it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "product_attributes")
+public class ProductAttributes {
+
+    @Id
+    @Column(name = "product_id")
+    private Integer productId;
+
+    @Column(name = "ram_gb")
+    private Integer ramGb;
+
+    @Column(name = "storage_gb")
+    private Integer storageGb;
+
+    // Normalized family, e.g. "i7", "ryzen 5", "ultra 7", "m2"
+    @Column(name = "cpu_family", length = 50)
+    private String cpuFamily;
+
+    @Column(name = "screen_inches")
+    private Double screenInches;
+
+    // Normalized model, e.g. "rtx 4060", "iris xe"
+    @Column(length = 50)
+    private String gpu;
+}
@@ -0,0 +1,9 @@
+package com.example.productmanagement.repository;
+
+import com.example.productmanagement.model.HeroImageData;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HeroImageDataRepository extends JpaRepository<HeroImageData, Integer> {
+}
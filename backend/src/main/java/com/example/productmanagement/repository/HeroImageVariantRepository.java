@@ -0,0 +1,33 @@
+package com.example.productmanagement.repository;
+
+import com.example.productmanagement.model.HeroImageVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface HeroImageVariantRepository extends JpaRepository<HeroImageVariant, HeroImageVariant.Key> {
+
+    /**
+     * Hero id and width of a variant, without its bytes
+     */
+    interface WidthView {
+        Integer getHeroId();
+        Integer getWidth();
+    }
+
+    @Query("SELECT v.heroId AS heroId, v.width AS width FROM HeroImageVariant v ORDER BY v.heroId, v.width")
+    List<WidthView> findAllWidths();
+
+    @Query("SELECT v.width FROM HeroImageVariant v WHERE v.heroId = :heroId ORDER BY v.width")
+    List<Integer> findWidthsByHeroId(@Param("heroId") Integer heroId);
+
+    // Runs inside the caller's transaction, next to the new variants
+    @Modifying
+    @Query("DELETE FROM HeroImageVariant v WHERE v.heroId = :heroId")
+    void deleteByHeroId(@Param("heroId") Integer heroId);
+}
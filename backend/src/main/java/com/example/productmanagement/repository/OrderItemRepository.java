@@ -4,10 +4,16 @@ import com.example.productmanagement.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     
@@ -15,4 +21,12 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     @Transactional
     @Query("DELETE FROM OrderItem oi WHERE oi.product.id = :productId")
     void deleteByProductId(@Param("productId") Integer productId);
+
+    // Order history keeps the image of the product as it was bought
+    boolean existsByProductImagePath(String imagePath);
+
+    // Streamed row by row (see ProductRepository.streamAllOrderById); upload cleanup
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT DISTINCT oi.productImageUrl FROM OrderItem oi WHERE oi.productImageUrl IS NOT NULL")
+    Stream<String> streamProductImageUrls();
 }
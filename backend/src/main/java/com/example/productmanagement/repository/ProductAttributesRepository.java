@@ -0,0 +1,10 @@
+package com.example.productmanagement.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.productmanagement.model.ProductAttributes;
+
+@Repository
+public interface ProductAttributesRepository extends JpaRepository<ProductAttributes, Integer> {
+}
@@ -0,0 +1,21 @@
+package com.example.productmanagement.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Closed projection for product grids. Spring Data selects only these columns,
+ * so list queries skip the specifications TEXT column.
+ */
+public interface ProductListView {
+    Integer getId();
+    String getName();
+    String getDescription();
+    String getBrand();
+    BigDecimal getPrice();
+    String getCategory();
+    boolean isProductAvailable();
+    Integer getStockQuantity();
+    String getWarranty();
+    String getCondition();
+    String getImagePath();
+}
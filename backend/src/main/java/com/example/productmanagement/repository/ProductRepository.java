@@ -1,10 +1,19 @@
 package com.example.productmanagement.repository;
 
 import com.example.productmanagement.model.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Integer> {
@@ -12,10 +21,78 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
     List<Product> findByProductAvailable(boolean available);
     List<Product> findByBrand(String brand);
 
+    // Grid projections (no specifications) for /all, /category and /available
+    List<ProductListView> findAllProjectedBy();
+    List<ProductListView> findProjectedByCategory(String category);
+    List<ProductListView> findProjectedByProductAvailable(boolean available);
+
+    // Reference count of a stored image file
+    long countByImagePath(String imagePath);
+
     // Method name-based query
     List<Product> findByBrandContainingIgnoreCase(String brand);
 
     // OR with @Query
     // @Query("SELECT p FROM Product p WHERE LOWER(p.brand) LIKE LOWER(CONCAT('%', :brand, '%'))")
     // List<Product> searchByBrand(@Param("brand") String brand);
-}
\ No newline at end of file
+
+    // Keyset (cursor) pagination - every query orders by (sort column, id) so the
+    // id acts as a tie-breaker and the next page starts strictly after the cursor.
+    // Pass PageRequest.of(0, limit) as the pageable: returning a List skips the count query.
+
+    @Query("SELECT p FROM Product p ORDER BY p.id ASC")
+    List<Product> findFirstPageOrderByIdAsc(Pageable pageable);
+
+    @Query("SELECT p FROM Product p ORDER BY p.id DESC")
+    List<Product> findFirstPageOrderByIdDesc(Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.id > :id ORDER BY p.id ASC")
+    List<Product> findPageAfterIdAsc(@Param("id") Integer id, Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.id < :id ORDER BY p.id DESC")
+    List<Product> findPageAfterIdDesc(@Param("id") Integer id, Pageable pageable);
+
+    @Query("SELECT p FROM Product p ORDER BY p.price ASC, p.id ASC")
+    List<Product> findFirstPageOrderByPriceAsc(Pageable pageable);
+
+    @Query("SELECT p FROM Product p ORDER BY p.price DESC, p.id DESC")
+    List<Product> findFirstPageOrderByPriceDesc(Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.price > :price OR (p.price = :price AND p.id > :id) "
+            + "ORDER BY p.price ASC, p.id ASC")
+    List<Product> findPageAfterPriceAsc(@Param("price") BigDecimal price, @Param("id") Integer id, Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.price < :price OR (p.price = :price AND p.id < :id) "
+            + "ORDER BY p.price DESC, p.id DESC")
+    List<Product> findPageAfterPriceDesc(@Param("price") BigDecimal price, @Param("id") Integer id, Pageable pageable);
+
+    @Query("SELECT p FROM Product p ORDER BY p.name ASC, p.id ASC")
+    List<Product> findFirstPageOrderByNameAsc(Pageable pageable);
+
+    @Query("SELECT p FROM Product p ORDER BY p.name DESC, p.id DESC")
+    List<Product> findFirstPageOrderByNameDesc(Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.name > :name OR (p.name = :name AND p.id > :id) "
+            + "ORDER BY p.name ASC, p.id ASC")
+    List<Product> findPageAfterNameAsc(@Param("name") String name, @Param("id") Integer id, Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.name < :name OR (p.name = :name AND p.id < :id) "
+            + "ORDER BY p.name DESC, p.id DESC")
+    List<Product> findPageAfterNameDesc(@Param("name") String name, @Param("id") Integer id, Pageable pageable);
+
+    // Forward-only cursor over the whole catalog for exports. A fetch size of Integer.MIN_VALUE
+    // makes MySQL Connector/J stream rows one at a time instead of buffering the result set.
+    // Must be consumed inside a (read-only) transaction and closed afterwards.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAllOrderById();
+
+    // Every stored image a product points at, streamed the same way (upload cleanup)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT DISTINCT p.imagePath FROM Product p WHERE p.imagePath IS NOT NULL")
+    Stream<String> streamImagePaths();
+}
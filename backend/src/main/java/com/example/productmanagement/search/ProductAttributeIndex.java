@@ -0,0 +1,359 @@
+package com.example.productmanagement.search;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.productmanagement.event.ProductChangedEvent;
+import com.example.productmanagement.model.Product;
+import com.example.productmanagement.model.ProductAttributes;
+import com.example.productmanagement.repository.ProductAttributesRepository;
+import com.example.productmanagement.repository.ProductRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Range index over the attributes SpecificationParser extracts. Numeric attributes
+ * (ram, storage, screen) keep a sorted value -> product ids map, so "ram>=16" is the
+ * union of one tail map; text attributes (cpu, gpu) keep one bitset per value.
+ * Every create/update re-parses the specifications and also stores the result in
+ * product_attributes.
+ */
+@Component
+public class ProductAttributeIndex {
+
+    public static final String RAM = "ram";
+    public static final String STORAGE = "storage";
+    public static final String SCREEN = "screen";
+    public static final String CPU = "cpu";
+    public static final String GPU = "gpu";
+
+    public static final List<String> NUMERIC = List.of(RAM, STORAGE, SCREEN);
+    public static final List<String> TEXT = List.of(CPU, GPU);
+
+    // "ram>=16", "screen<15.6", "cpu=i7"
+    private static final Pattern FILTER = Pattern.compile("^\\s*([a-z]+)\\s*(>=|<=|>|<|=)\\s*(.+?)\\s*$");
+
+    public record Filter(String attribute, String operator, String value) {
+    }
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductAttributesRepository productAttributesRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, NavigableMap<Double, BitSet>> numeric = new HashMap<>();
+    private final Map<String, Map<String, BitSet>> text = new HashMap<>();
+    private final Map<Integer, ProductAttributes> byId = new HashMap<>();
+    private final BitSet allProducts = new BitSet();
+
+    /**
+     * Parses every product's specifications (so parser improvements apply to existing
+     * rows), stores changed rows and builds the in-memory index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void rebuild() {
+        Map<Integer, ProductAttributes> stored = new HashMap<>();
+        for (ProductAttributes attributes : productAttributesRepository.findAll()) {
+            stored.put(attributes.getProductId(), attributes);
+        }
+        List<ProductAttributes> parsed = new ArrayList<>();
+        List<ProductAttributes> changed = new ArrayList<>();
+        for (Product product : productRepository.findAll()) {
+            ProductAttributes attributes = SpecificationParser.parse(product.getId(), product.getSpecifications());
+            parsed.add(attributes);
+            if (!attributes.equals(stored.get(product.getId()))) {
+                changed.add(attributes);
+            }
+        }
+        productAttributesRepository.saveAll(changed);
+
+        lock.writeLock().lock();
+        try {
+            numeric.clear();
+            text.clear();
+            byId.clear();
+            allProducts.clear();
+            for (ProductAttributes attributes : parsed) {
+                add(attributes);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Product attribute index built: " + parsed.size() + " products, "
+                + changed.size() + " rows updated");
+    }
+
+    /**
+     * Runs in the publishing thread. Inside a transaction the parsed rows are buffered and
+     * written together just before that transaction commits, so an import chunk adds one
+     * batched INSERT instead of a transaction per product; the in-memory index follows once
+     * it has committed and is left alone on rollback. Without a transaction both happen at once.
+     * Deleted products lose their row through the foreign key's ON DELETE CASCADE.
+     * Runs ahead of the other listeners, so ProductSimilarityIndex sees the new attributes.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductAttributes attributes = event.getCurrent() != null
+                ? SpecificationParser.parse(event.getProductId(), event.getCurrent().getSpecifications())
+                : null;
+        boolean created = event.getType() == ProductChangedEvent.ChangeType.CREATED;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (attributes != null) {
+                productAttributesRepository.save(attributes);
+            }
+            apply(List.of(new PendingChange(event.getProductId(), created, attributes)));
+            return;
+        }
+        pendingChanges().merge(event.getProductId(), new PendingChange(event.getProductId(), created, attributes),
+                // Created and changed again in the same transaction: still a new row
+                (earlier, later) -> new PendingChange(later.productId(), earlier.created(), later.attributes()));
+    }
+
+    public ProductAttributes get(Integer productId) {
+        lock.readLock().lock();
+        try {
+            return byId.get(productId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Parses "ram>=16"-style expressions. Throws IllegalArgumentException for unknown
+     * attributes, non-numeric bounds or ranges on text attributes.
+     */
+    public static Filter parseFilter(String expression) {
+        Matcher m = FILTER.matcher(expression.toLowerCase(Locale.ROOT));
+        if (!m.matches()) {
+            throw new IllegalArgumentException("Invalid filter: " + expression);
+        }
+        String attribute = m.group(1);
+        String operator = m.group(2);
+        String value = m.group(3);
+        if (NUMERIC.contains(attribute)) {
+            try {
+                Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Filter " + attribute + " needs a number, got: " + value);
+            }
+        } else if (TEXT.contains(attribute)) {
+            if (!operator.equals("=")) {
+                throw new IllegalArgumentException("Filter " + attribute + " only supports =");
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown filter attribute: " + attribute
+                    + " (supported: " + NUMERIC + " " + TEXT + ")");
+        }
+        return new Filter(attribute, operator, value);
+    }
+
+    /**
+     * Product ids matching every filter. A text filter matches the value itself or any
+     * more specific value, so cpu=ryzen matches "ryzen 7" and gpu=rtx matches "rtx 4060".
+     */
+    public BitSet match(List<Filter> filters) {
+        lock.readLock().lock();
+        try {
+            BitSet result = (BitSet) allProducts.clone();
+            for (Filter filter : filters) {
+                result.and(NUMERIC.contains(filter.attribute()) ? matchNumeric(filter) : matchText(filter));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Callers hold a lock
+    private BitSet matchNumeric(Filter filter) {
+        NavigableMap<Double, BitSet> values = numeric.getOrDefault(filter.attribute(), new TreeMap<>());
+        double bound = Double.parseDouble(filter.value());
+        NavigableMap<Double, BitSet> range = switch (filter.operator()) {
+            case ">=" -> values.tailMap(bound, true);
+            case ">" -> values.tailMap(bound, false);
+            case "<=" -> values.headMap(bound, true);
+            case "<" -> values.headMap(bound, false);
+            default -> values.subMap(bound, true, bound, true);
+        };
+        BitSet union = new BitSet();
+        for (BitSet bits : range.values()) {
+            union.or(bits);
+        }
+        return union;
+    }
+
+    // Callers hold a lock
+    private BitSet matchText(Filter filter) {
+        BitSet union = new BitSet();
+        String wanted = filter.value().trim();
+        for (Map.Entry<String, BitSet> entry : text.getOrDefault(filter.attribute(), Map.of()).entrySet()) {
+            String value = entry.getKey();
+            if (value.equals(wanted) || value.startsWith(wanted + " ")) {
+                union.or(entry.getValue());
+            }
+        }
+        return union;
+    }
+
+    // Attribute changes of one transaction, latest per product
+    private record PendingChange(Integer productId, boolean created, ProductAttributes attributes) {
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Integer, PendingChange> pendingChanges() {
+        Map<Integer, PendingChange> pending = (Map<Integer, PendingChange>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Map<Integer, PendingChange> changes = new LinkedHashMap<>();
+        TransactionSynchronizationManager.bindResource(this, changes);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            // Before the after-commit listeners that read the index
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                write(changes.values());
+            }
+
+            @Override
+            public void afterCommit() {
+                apply(changes.values());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ProductAttributeIndex.this);
+            }
+        });
+        return changes;
+    }
+
+    // Flushed with the rest of the transaction, so Hibernate batches the statements.
+    // Rows of new products are persisted without the existence check a merge does.
+    private void write(Collection<PendingChange> changes) {
+        for (PendingChange change : changes) {
+            if (change.attributes() == null) {
+                continue;
+            }
+            if (change.created()) {
+                entityManager.persist(change.attributes());
+            } else {
+                entityManager.merge(change.attributes());
+            }
+        }
+    }
+
+    private void apply(Collection<PendingChange> changes) {
+        lock.writeLock().lock();
+        try {
+            for (PendingChange change : changes) {
+                remove(change.productId());
+                if (change.attributes() != null) {
+                    add(change.attributes());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock
+    private void add(ProductAttributes attributes) {
+        int id = attributes.getProductId();
+        addNumeric(RAM, attributes.getRamGb(), id);
+        addNumeric(STORAGE, attributes.getStorageGb(), id);
+        addNumeric(SCREEN, attributes.getScreenInches(), id);
+        addText(CPU, attributes.getCpuFamily(), id);
+        addText(GPU, attributes.getGpu(), id);
+        byId.put(id, attributes);
+        allProducts.set(id);
+    }
+
+    // Callers hold the write lock
+    private void remove(Integer id) {
+        ProductAttributes attributes = byId.remove(id);
+        if (attributes == null) {
+            return;
+        }
+        removeNumeric(RAM, attributes.getRamGb(), id);
+        removeNumeric(STORAGE, attributes.getStorageGb(), id);
+        removeNumeric(SCREEN, attributes.getScreenInches(), id);
+        removeText(CPU, attributes.getCpuFamily(), id);
+        removeText(GPU, attributes.getGpu(), id);
+        allProducts.clear(id);
+    }
+
+    private void addNumeric(String attribute, Number value, int id) {
+        if (value != null) {
+            numeric.computeIfAbsent(attribute, a -> new TreeMap<>())
+                    .computeIfAbsent(value.doubleValue(), v -> new BitSet())
+                    .set(id);
+        }
+    }
+
+    private void removeNumeric(String attribute, Number value, int id) {
+        if (value == null) {
+            return;
+        }
+        NavigableMap<Double, BitSet> values = numeric.get(attribute);
+        BitSet bits = values.get(value.doubleValue());
+        bits.clear(id);
+        if (bits.isEmpty()) {
+            values.remove(value.doubleValue());
+        }
+    }
+
+    private void addText(String attribute, String value, int id) {
+        if (value != null) {
+            text.computeIfAbsent(attribute, a -> new HashMap<>())
+                    .computeIfAbsent(value, v -> new BitSet())
+                    .set(id);
+        }
+    }
+
+    private void removeText(String attribute, String value, int id) {
+        if (value == null) {
+            return;
+        }
+        Map<String, BitSet> values = text.get(attribute);
+        BitSet bits = values.get(value);
+        bits.clear(id);
+        if (bits.isEmpty()) {
+            values.remove(value);
+        }
+    }
+}
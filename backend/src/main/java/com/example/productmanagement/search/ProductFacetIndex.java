@@ -0,0 +1,238 @@
+package com.example.productmanagement.search;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.productmanagement.dto.FacetValueDTO;
+import com.example.productmanagement.event.ProductChangedEvent;
+import com.example.productmanagement.model.Product;
+import com.example.productmanagement.repository.ProductRepository;
+
+/**
+ * Bitset-per-facet-value index over product ids for "Brand: Dell (42)" style filtering.
+ * Values within a facet are OR-ed, facets are AND-ed. Counts for a facet are computed
+ * against the other facets' filters only, so selecting "Dell" still shows how many HP
+ * laptops there are.
+ */
+@Component
+public class ProductFacetIndex {
+
+    public static final String CATEGORY = "category";
+    public static final String BRAND = "brand";
+    public static final String CONDITION = "condition";
+    public static final String PRICE = "price";
+    public static final String AVAILABILITY = "available";
+
+    public static final List<String> FACETS = List.of(CATEGORY, BRAND, CONDITION, PRICE, AVAILABILITY);
+
+    // Upper bounds (exclusive) of the price bands, in rupees; the last band is open-ended
+    private static final long[] PRICE_BAND_LIMITS = {50_000, 100_000, 200_000, 300_000};
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // facet -> normalized value -> product ids
+    private final Map<String, Map<String, BitSet>> bitsets = new HashMap<>();
+    // facet -> normalized value -> label as first seen ("dell" -> "Dell")
+    private final Map<String, Map<String, String>> labels = new HashMap<>();
+    // product id -> normalized value per facet, needed to unset bits on update/delete
+    private final Map<Integer, String[]> valuesById = new HashMap<>();
+    private final BitSet allProducts = new BitSet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Product> products = productRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            bitsets.clear();
+            labels.clear();
+            valuesById.clear();
+            allProducts.clear();
+            for (Product product : products) {
+                add(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getProductId());
+            if (event.getCurrent() != null) {
+                add(event.getCurrent());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Product ids matching all selected filters (facet -> accepted values)
+     */
+    public BitSet match(Map<String, Set<String>> filters) {
+        lock.readLock().lock();
+        try {
+            return intersect(filters, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts per facet value under the selected filters, ignoring each facet's own selection
+     */
+    public Map<String, List<FacetValueDTO>> counts(Map<String, Set<String>> filters) {
+        lock.readLock().lock();
+        try {
+            Map<String, List<FacetValueDTO>> result = new LinkedHashMap<>();
+            for (String facet : FACETS) {
+                BitSet base = intersect(filters, facet);
+                Set<String> selected = normalizeAll(filters.get(facet));
+                Map<String, BitSet> values = bitsets.getOrDefault(facet, Map.of());
+                Map<String, String> facetLabels = labels.getOrDefault(facet, Map.of());
+
+                List<FacetValueDTO> counts = new ArrayList<>(values.size());
+                // Price bands in ascending order, everything else alphabetical
+                TreeMap<String, BitSet> ordered = new TreeMap<>(facet.equals(PRICE)
+                        ? Comparator.comparingLong(ProductFacetIndex::priceBandLowerBound)
+                        : Comparator.naturalOrder());
+                ordered.putAll(values);
+                for (Map.Entry<String, BitSet> entry : ordered.entrySet()) {
+                    BitSet bits = (BitSet) entry.getValue().clone();
+                    bits.and(base);
+                    counts.add(new FacetValueDTO(facetLabels.get(entry.getKey()), bits.cardinality(),
+                            selected.contains(entry.getKey())));
+                }
+                result.put(facet, counts);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Callers hold a lock. excludedFacet is skipped (used for drill-sideways counts).
+    private BitSet intersect(Map<String, Set<String>> filters, String excludedFacet) {
+        BitSet result = (BitSet) allProducts.clone();
+        for (Map.Entry<String, Set<String>> filter : filters.entrySet()) {
+            String facet = filter.getKey();
+            if (facet.equals(excludedFacet) || filter.getValue() == null || filter.getValue().isEmpty()) {
+                continue;
+            }
+            Map<String, BitSet> values = bitsets.getOrDefault(facet, Map.of());
+            BitSet union = new BitSet();
+            for (String value : normalizeAll(filter.getValue())) {
+                BitSet bits = values.get(value);
+                if (bits != null) {
+                    union.or(bits);
+                }
+            }
+            result.and(union);
+        }
+        return result;
+    }
+
+    // Callers hold the write lock
+    private void add(Product product) {
+        int id = product.getId();
+        String[] raw = {
+                product.getCategory(),
+                product.getBrand(),
+                product.getCondition(),
+                priceBand(product.getPrice()),
+                product.isProductAvailable() ? "true" : "false"
+        };
+        String[] normalized = new String[FACETS.size()];
+        for (int i = 0; i < normalized.length; i++) {
+            if (raw[i] == null || raw[i].isBlank()) {
+                continue;
+            }
+            String facet = FACETS.get(i);
+            normalized[i] = normalize(raw[i]);
+            bitsets.computeIfAbsent(facet, f -> new HashMap<>())
+                    .computeIfAbsent(normalized[i], v -> new BitSet())
+                    .set(id);
+            labels.computeIfAbsent(facet, f -> new HashMap<>()).putIfAbsent(normalized[i], raw[i].trim());
+        }
+        valuesById.put(id, normalized);
+        allProducts.set(id);
+    }
+
+    // Callers hold the write lock
+    private void remove(Integer id) {
+        String[] normalized = valuesById.remove(id);
+        if (normalized == null) {
+            return;
+        }
+        for (int i = 0; i < normalized.length; i++) {
+            if (normalized[i] == null) {
+                continue;
+            }
+            String facet = FACETS.get(i);
+            Map<String, BitSet> values = bitsets.get(facet);
+            BitSet bits = values.get(normalized[i]);
+            bits.clear(id);
+            if (bits.isEmpty()) {
+                values.remove(normalized[i]);
+                labels.get(facet).remove(normalized[i]);
+            }
+        }
+        allProducts.clear(id);
+    }
+
+    private static Set<String> normalizeAll(Set<String> values) {
+        if (values == null) {
+            return Set.of();
+        }
+        Set<String> normalized = new HashSet<>();
+        for (String value : values) {
+            normalized.add(normalize(value));
+        }
+        return normalized;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String priceBand(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        long lower = 0;
+        for (long limit : PRICE_BAND_LIMITS) {
+            if (price.compareTo(BigDecimal.valueOf(limit)) < 0) {
+                return lower + "-" + limit;
+            }
+            lower = limit;
+        }
+        return lower + "+";
+    }
+
+    private static long priceBandLowerBound(String band) {
+        int end = band.indexOf('-') >= 0 ? band.indexOf('-') : band.indexOf('+');
+        return Long.parseLong(band.substring(0, end));
+    }
+}
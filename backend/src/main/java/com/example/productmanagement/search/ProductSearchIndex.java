@@ -0,0 +1,230 @@
+package com.example.productmanagement.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.productmanagement.dto.ProductDTO;
+import com.example.productmanagement.event.ProductChangedEvent;
+import com.example.productmanagement.mapper.ProductMapper;
+import com.example.productmanagement.model.Product;
+import com.example.productmanagement.repository.ProductRepository;
+
+/**
+ * In-memory inverted index over product name, brand, category, description and specifications.
+ * Built once at startup and then kept in sync from ProductChangedEvent, so queries never hit MySQL.
+ * Ranking is BM25 over field-weighted term frequencies; the last query term also matches as a prefix.
+ */
+@Component
+public class ProductSearchIndex {
+
+    // BM25 parameters
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Field weights: a hit in the name counts more than one buried in the specs
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float BRAND_WEIGHT = 2.5f;
+    private static final float CATEGORY_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final float SPECIFICATIONS_WEIGHT = 1.0f;
+
+    // Prefix expansions score slightly lower than exact hits and are capped per query
+    private static final float PREFIX_PENALTY = 0.8f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductMapper productMapper;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (product id -> weighted term frequency); sorted so prefixes are a range scan
+    private final TreeMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+    private final Map<Integer, IndexedDocument> documents = new HashMap<>();
+    private double totalLength;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Product> products = productRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+            for (Product product : products) {
+                addDocument(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Product search index built with " + products.size() + " products");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(event.getProductId());
+            if (event.getCurrent() != null) {
+                addDocument(event.getCurrent());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Return up to limit products ranked by relevance to the query
+     */
+    public List<ProductDTO> search(String query, int limit) {
+        List<String> terms = TextTokenizer.tokenize(query);
+        if (terms.isEmpty() || limit < 1) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return new ArrayList<>();
+            }
+            float averageLength = (float) (totalLength / documentCount);
+            Map<Integer, Float> scores = new HashMap<>();
+
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                Map<Integer, Float> exact = postings.get(term);
+                if (exact != null) {
+                    accumulate(scores, exact, 1.0f, documentCount, averageLength);
+                }
+                // The last term is usually still being typed: also match it as a prefix
+                if (i == terms.size() - 1) {
+                    NavigableMap<String, Map<Integer, Float>> expansions =
+                            postings.subMap(term, false, term + Character.MAX_VALUE, false);
+                    int expanded = 0;
+                    for (Map<Integer, Float> posting : expansions.values()) {
+                        if (expanded++ >= MAX_PREFIX_EXPANSIONS) {
+                            break;
+                        }
+                        accumulate(scores, posting, PREFIX_PENALTY, documentCount, averageLength);
+                    }
+                }
+            }
+
+            // Keep only the best `limit` hits in a min-heap instead of sorting every match
+            PriorityQueue<Map.Entry<Integer, Float>> top =
+                    new PriorityQueue<>((a, b) -> Float.compare(a.getValue(), b.getValue()));
+            for (Map.Entry<Integer, Float> score : scores.entrySet()) {
+                if (top.size() < limit) {
+                    top.add(score);
+                } else if (score.getValue() > top.peek().getValue()) {
+                    top.poll();
+                    top.add(score);
+                }
+            }
+
+            List<ProductDTO> results = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                results.add(documents.get(top.poll().getKey()).product);
+            }
+            Collections.reverse(results);
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void accumulate(Map<Integer, Float> scores, Map<Integer, Float> posting, float boost,
+                            int documentCount, float averageLength) {
+        int documentFrequency = posting.size();
+        float idf = (float) Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        for (Map.Entry<Integer, Float> entry : posting.entrySet()) {
+            float tf = entry.getValue();
+            float length = documents.get(entry.getKey()).length;
+            float norm = K1 * (1 - B + B * length / averageLength);
+            float score = boost * idf * (tf * (K1 + 1)) / (tf + norm);
+            scores.merge(entry.getKey(), score, Float::sum);
+        }
+    }
+
+    // Callers hold the write lock
+    private void addDocument(Product product) {
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = 0;
+        length += addField(frequencies, product.getName(), NAME_WEIGHT);
+        length += addField(frequencies, product.getBrand(), BRAND_WEIGHT);
+        length += addField(frequencies, product.getCategory(), CATEGORY_WEIGHT);
+        length += addField(frequencies, product.getDescription(), DESCRIPTION_WEIGHT);
+        length += addField(frequencies, product.getSpecifications(), SPECIFICATIONS_WEIGHT);
+
+        Integer id = product.getId();
+        for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(id, entry.getValue());
+        }
+        documents.put(id, new IndexedDocument(productMapper.toDto(product),
+                frequencies.keySet().toArray(new String[0]), length));
+        totalLength += length;
+    }
+
+    // Callers hold the write lock
+    private void removeDocument(Integer id) {
+        IndexedDocument document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms) {
+            Map<Integer, Float> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= document.length;
+    }
+
+    private static float addField(Map<String, Float> frequencies, String text, float weight) {
+        List<String> tokens = TextTokenizer.tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Float::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private static final class IndexedDocument {
+        private final ProductDTO product;
+        private final String[] terms;
+        private final float length;
+
+        private IndexedDocument(ProductDTO product, String[] terms, float length) {
+            this.product = product;
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.productmanagement.search;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.productmanagement.event.ProductChangedEvent;
+import com.example.productmanagement.model.Product;
+import com.example.productmanagement.model.ProductAttributes;
+import com.example.productmanagement.repository.ProductRepository;
+
+/**
+ * "Similar laptops": one fixed-length feature vector per product (price, hashed brand and
+ * category, condition, parsed specs), packed back to back in a single float[] and searched
+ * by brute force. Feature weights are baked into the vectors, so similarity is plain
+ * squared Euclidean distance. Vectors are recomputed only on product writes, from the specs
+ * ProductAttributeIndex already parsed.
+ */
+@Component
+public class ProductSimilarityIndex {
+
+    // Neighbours a caller can ask for
+    public static final int MAX_NEIGHBOURS = 20;
+
+    private static final int BRAND_BUCKETS = 16;
+    private static final int CATEGORY_BUCKETS = 8;
+
+    private static final int PRICE = 0;
+    private static final int BRAND = PRICE + 1;
+    private static final int CATEGORY = BRAND + BRAND_BUCKETS;
+    private static final int CONDITION = CATEGORY + CATEGORY_BUCKETS;
+    private static final int RAM = CONDITION + 1;
+    private static final int STORAGE = RAM + 1;
+    private static final int SCREEN = STORAGE + 1;
+    private static final int CPU = SCREEN + 1;
+    private static final int GPU = CPU + 1;
+    // 31 features padded to 32 floats so each vector is two cache lines and the loop has no tail
+    static final int DIM = 32;
+
+    private static final float PRICE_WEIGHT = 2.0f;
+    private static final float BRAND_WEIGHT = 1.0f;
+    private static final float CATEGORY_WEIGHT = 1.5f;
+    private static final float CONDITION_WEIGHT = 0.5f;
+    private static final float RAM_WEIGHT = 1.0f;
+    private static final float STORAGE_WEIGHT = 0.5f;
+    private static final float SCREEN_WEIGHT = 0.75f;
+    private static final float CPU_WEIGHT = 1.0f;
+    private static final float GPU_WEIGHT = 0.75f;
+
+    // Used for specs the parser could not find, so an unknown value sits mid-range
+    private static final float UNKNOWN = 0.5f;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductAttributeIndex productAttributeIndex;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Slot i holds product ids[i] at vectors[i * DIM, (i + 1) * DIM)
+    private float[] vectors = new float[0];
+    private int[] ids = new int[0];
+    private int size;
+    private final Map<Integer, Integer> slotById = new HashMap<>();
+
+    // After ProductAttributeIndex.rebuild, which runs first
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void rebuild() {
+        List<Product> products = productRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            vectors = new float[Math.max(products.size(), 16) * DIM];
+            ids = new int[Math.max(products.size(), 16)];
+            size = 0;
+            slotById.clear();
+            for (Product product : products) {
+                put(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getCurrent() != null) {
+                put(event.getCurrent());
+            } else {
+                remove(event.getProductId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the k products closest to the given one, nearest first. Empty when the
+     * product is not indexed.
+     */
+    public int[] nearest(Integer productId, int k) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotById.get(productId);
+            if (slot == null || k <= 0) {
+                return new int[0];
+            }
+            int limit = Math.min(k, size - 1);
+            int[] bestIds = new int[limit];
+            float[] bestDistances = new float[limit];
+            Arrays.fill(bestDistances, Float.MAX_VALUE);
+
+            float[] data = vectors;
+            int query = slot * DIM;
+            for (int other = 0; other < size; other++) {
+                if (other == slot) {
+                    continue;
+                }
+                // Straight-line loop over contiguous floats; the JIT unrolls and vectorizes it
+                int offset = other * DIM;
+                float distance = 0f;
+                for (int d = 0; d < DIM; d++) {
+                    float diff = data[query + d] - data[offset + d];
+                    distance += diff * diff;
+                }
+                if (limit > 0 && distance < bestDistances[limit - 1]) {
+                    // Insertion into the sorted top-k
+                    int i = limit - 1;
+                    while (i > 0 && bestDistances[i - 1] > distance) {
+                        bestDistances[i] = bestDistances[i - 1];
+                        bestIds[i] = bestIds[i - 1];
+                        i--;
+                    }
+                    bestDistances[i] = distance;
+                    bestIds[i] = ids[other];
+                }
+            }
+            return bestIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock
+    private void put(Product product) {
+        Integer slot = slotById.get(product.getId());
+        if (slot == null) {
+            if (size == ids.length) {
+                int capacity = Math.max(16, ids.length * 2);
+                ids = Arrays.copyOf(ids, capacity);
+                vectors = Arrays.copyOf(vectors, capacity * DIM);
+            }
+            slot = size++;
+            slotById.put(product.getId(), slot);
+            ids[slot] = product.getId();
+        }
+        encode(product, productAttributeIndex.get(product.getId()), vectors, slot * DIM);
+    }
+
+    // Callers hold the write lock. The last slot moves into the hole so the array stays dense.
+    private void remove(Integer productId) {
+        Integer slot = slotById.remove(productId);
+        if (slot == null) {
+            return;
+        }
+        int last = --size;
+        if (slot != last) {
+            System.arraycopy(vectors, last * DIM, vectors, slot * DIM, DIM);
+            ids[slot] = ids[last];
+            slotById.put(ids[slot], slot);
+        }
+    }
+
+    static void encode(Product product, ProductAttributes attributes, float[] target, int offset) {
+        Arrays.fill(target, offset, offset + DIM, 0f);
+        // Not indexed yet: every spec counts as unknown
+        ProductAttributes specs = attributes != null
+                ? attributes : new ProductAttributes(product.getId(), null, null, null, null, null);
+
+        target[offset + PRICE] = PRICE_WEIGHT * scaledPrice(product.getPrice());
+        if (product.getBrand() != null) {
+            target[offset + BRAND + bucket(product.getBrand(), BRAND_BUCKETS)] = BRAND_WEIGHT;
+        }
+        if (product.getCategory() != null) {
+            target[offset + CATEGORY + bucket(product.getCategory(), CATEGORY_BUCKETS)] = CATEGORY_WEIGHT;
+        }
+        target[offset + CONDITION] = CONDITION_WEIGHT * condition(product.getCondition());
+        target[offset + RAM] = RAM_WEIGHT * (specs.getRamGb() != null
+                ? clamp((float) (Math.log(specs.getRamGb()) / Math.log(2) / 7)) : UNKNOWN);
+        target[offset + STORAGE] = STORAGE_WEIGHT * (specs.getStorageGb() != null
+                ? clamp((float) (Math.log(specs.getStorageGb()) / Math.log(2) / 12)) : UNKNOWN);
+        target[offset + SCREEN] = SCREEN_WEIGHT * (specs.getScreenInches() != null
+                ? clamp((float) ((specs.getScreenInches() - 10) / 8)) : UNKNOWN);
+        target[offset + CPU] = CPU_WEIGHT * cpuTier(specs.getCpuFamily());
+        target[offset + GPU] = GPU_WEIGHT * gpuTier(specs.getGpu());
+    }
+
+    // log scale: Rs 10,000 -> 0, Rs 1,000,000 -> 1
+    private static float scaledPrice(BigDecimal price) {
+        if (price == null || price.signum() <= 0) {
+            return UNKNOWN;
+        }
+        return clamp((float) ((Math.log10(price.doubleValue()) - 4) / 2));
+    }
+
+    private static int bucket(String value, int buckets) {
+        return Math.floorMod(value.trim().toLowerCase(Locale.ROOT).hashCode(), buckets);
+    }
+
+    private static float condition(String condition) {
+        if (condition == null) {
+            return UNKNOWN;
+        }
+        String normalized = condition.toLowerCase(Locale.ROOT);
+        if (normalized.contains("refurb")) {
+            return 0.5f;
+        }
+        if (normalized.contains("used")) {
+            return 0f;
+        }
+        return normalized.contains("new") ? 1f : UNKNOWN;
+    }
+
+    private static float cpuTier(String family) {
+        if (family == null) {
+            return UNKNOWN;
+        }
+        float tier = switch (family.split(" ")[0]) {
+            case "i3" -> 0.25f;
+            case "i5" -> 0.5f;
+            case "i7" -> 0.75f;
+            case "i9" -> 1f;
+            case "ultra", "ryzen" -> (family.charAt(family.length() - 1) - '0') / 9f;
+            case "m1" -> 0.6f;
+            case "m2" -> 0.7f;
+            case "m3" -> 0.8f;
+            case "m4" -> 0.9f;
+            default -> 0.1f; // celeron, pentium, athlon, snapdragon
+        };
+        // M-series Pro/Max/Ultra
+        return family.startsWith("m") && family.contains(" ") ? clamp(tier + 0.1f) : tier;
+    }
+
+    private static float gpuTier(String gpu) {
+        if (gpu == null) {
+            return 0f;
+        }
+        if (gpu.startsWith("rtx") || gpu.startsWith("rx")) {
+            return 1f;
+        }
+        if (gpu.startsWith("gtx") || gpu.startsWith("arc") || gpu.startsWith("mx")) {
+            return 0.6f;
+        }
+        return 0.2f; // integrated
+    }
+
+    private static float clamp(float value) {
+        return Math.max(0f, Math.min(1f, value));
+    }
+}
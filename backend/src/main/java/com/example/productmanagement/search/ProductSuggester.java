@@ -0,0 +1,237 @@
+package com.example.productmanagement.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.productmanagement.dto.SuggestionDTO;
+import com.example.productmanagement.event.ProductChangedEvent;
+import com.example.productmanagement.model.Product;
+import com.example.productmanagement.repository.ProductRepository;
+
+/**
+ * Typeahead over product names, brands and categories.
+ * Completions live in a character trie where every node caches its own top-K completions,
+ * so a lookup is a walk down the prefix plus a copy of at most K entries.
+ * Popularity is the number of products behind a completion (available ones count double).
+ */
+@Component
+public class ProductSuggester {
+
+    // Completions cached per trie node; also the maximum a caller can ask for
+    public static final int MAX_SUGGESTIONS = 10;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Node root = new Node();
+    // "type:normalized text" -> completion
+    private final Map<String, Completion> completions = new HashMap<>();
+    // product id -> completions it contributed to, with the weight it added
+    private final Map<Integer, Map<Completion, Integer>> contributions = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Product> products = productRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            root.children.clear();
+            root.terminals.clear();
+            root.top = new Completion[0];
+            completions.clear();
+            contributions.clear();
+            Set<String> dirtyKeys = new LinkedHashSet<>();
+            for (Product product : products) {
+                add(product, dirtyKeys);
+            }
+            refresh(dirtyKeys);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Set<String> dirtyKeys = new LinkedHashSet<>();
+            remove(event.getProductId(), dirtyKeys);
+            if (event.getCurrent() != null) {
+                add(event.getCurrent(), dirtyKeys);
+            }
+            refresh(dirtyKeys);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        String key = TextTokenizer.normalize(prefix);
+        List<SuggestionDTO> suggestions = new ArrayList<>();
+        if (key.isEmpty()) {
+            return suggestions;
+        }
+        // Keep a trailing space so "dell " only completes names with more words after "dell"
+        if (Character.isWhitespace(prefix.charAt(prefix.length() - 1))) {
+            key = key + " ";
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null) {
+                return suggestions;
+            }
+            for (Completion completion : node.top) {
+                if (suggestions.size() >= limit) {
+                    break;
+                }
+                suggestions.add(new SuggestionDTO(completion.text, completion.type, completion.weight));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock
+    private void add(Product product, Set<String> dirtyKeys) {
+        int weight = product.isProductAvailable() ? 2 : 1;
+        Map<Completion, Integer> added = new IdentityHashMap<>();
+        contribute(added, "name", product.getName(), weight, true, dirtyKeys);
+        contribute(added, "brand", product.getBrand(), weight, false, dirtyKeys);
+        contribute(added, "category", product.getCategory(), weight, false, dirtyKeys);
+        contributions.put(product.getId(), added);
+    }
+
+    // Callers hold the write lock
+    private void remove(Integer productId, Set<String> dirtyKeys) {
+        Map<Completion, Integer> removed = contributions.remove(productId);
+        if (removed == null) {
+            return;
+        }
+        for (Map.Entry<Completion, Integer> entry : removed.entrySet()) {
+            Completion completion = entry.getKey();
+            completion.weight -= entry.getValue();
+            dirtyKeys.addAll(completion.keys);
+            if (completion.weight <= 0) {
+                completions.remove(completion.type + ":" + completion.keys.get(0));
+                for (String key : completion.keys) {
+                    nodeFor(key).terminals.remove(completion);
+                }
+            }
+        }
+    }
+
+    private void contribute(Map<Completion, Integer> added, String type, String text, int weight,
+                            boolean everyWord, Set<String> dirtyKeys) {
+        String normalized = TextTokenizer.normalize(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        Completion completion = completions.get(type + ":" + normalized);
+        if (completion == null) {
+            completion = new Completion(text.trim(), type);
+            completion.keys.add(normalized);
+            if (everyWord) {
+                // Also reachable from every later word: "xps" completes "Dell XPS 13"
+                for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+                    completion.keys.add(normalized.substring(i + 1));
+                }
+            }
+            for (String key : completion.keys) {
+                nodeFor(key).terminals.add(completion);
+            }
+            completions.put(type + ":" + normalized, completion);
+        }
+        if (added.containsKey(completion)) {
+            return;
+        }
+        completion.weight += weight;
+        added.put(completion, weight);
+        dirtyKeys.addAll(completion.keys);
+    }
+
+    private Node nodeFor(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+        }
+        return node;
+    }
+
+    /**
+     * Recompute the cached top-K of every node on the paths of the changed keys,
+     * deepest node first, and prune nodes that no longer lead to any completion
+     */
+    private void refresh(Set<String> dirtyKeys) {
+        for (String key : dirtyKeys) {
+            List<Node> path = new ArrayList<>(key.length() + 1);
+            Node node = root;
+            path.add(node);
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+                if (node != null) {
+                    path.add(node);
+                }
+            }
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node current = path.get(i);
+                current.recomputeTop();
+                if (i > 0 && current.terminals.isEmpty() && current.children.isEmpty()) {
+                    path.get(i - 1).children.remove(key.charAt(i - 1));
+                }
+            }
+        }
+    }
+
+    private static final class Completion {
+        private final String text;
+        private final String type;
+        private final List<String> keys = new ArrayList<>(2);
+        private int weight;
+
+        private Completion(String text, String type) {
+            this.text = text;
+            this.type = type;
+        }
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Completion> terminals = new ArrayList<>(1);
+        private Completion[] top = new Completion[0];
+
+        // A node's best completions are the best among its own and its children's cached tops
+        private void recomputeTop() {
+            Set<Completion> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+            candidates.addAll(terminals);
+            for (Node child : children.values()) {
+                Collections.addAll(candidates, child.top);
+            }
+            top = candidates.stream()
+                    .sorted((a, b) -> a.weight != b.weight
+                            ? Integer.compare(b.weight, a.weight)
+                            : a.text.compareToIgnoreCase(b.text))
+                    .limit(MAX_SUGGESTIONS)
+                    .toArray(Completion[]::new);
+        }
+    }
+}
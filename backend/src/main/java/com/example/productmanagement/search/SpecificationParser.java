@@ -0,0 +1,137 @@
+package com.example.productmanagement.search;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.example.productmanagement.model.ProductAttributes;
+
+/**
+ * Pulls typed attributes out of free-text laptop specifications
+ * ("Intel Core i7-1255U, 16GB DDR4 RAM, 512GB NVMe SSD, 15.6\" FHD, RTX 3050").
+ * Anything it cannot recognise is left null rather than guessed.
+ */
+public final class SpecificationParser {
+
+    private static final Pattern RAM = Pattern.compile(
+            "(\\d{1,3})\\s*gb\\s*(?:of\\s+)?(?:(?:lp)?ddr\\d\\w*\\s*|unified\\s*)?(?:ram|memory)\\b"
+            + "|\\b(?:ram|memory)\\s*[:\\-]?\\s*(\\d{1,3})\\s*gb");
+    // "i5 / 8GB / 512GB SSD": first bare size that is not storage or video memory
+    private static final Pattern BARE_RAM = Pattern.compile(
+            "\\b(\\d{1,3})\\s*gb\\b(?!\\s*(?:(?:pcie|nvme|m\\.2|sata|gddr\\d\\w*)\\s*)*(?:ssd|hdd|emmc|storage|vram|graphics))");
+    private static final Pattern STORAGE = Pattern.compile(
+            "(\\d+(?:\\.\\d+)?)\\s*(tb|gb)\\s*(?:(?:pcie|nvme|m\\.2|sata|gen\\s*\\d)\\s*)*(?:ssd|hdd|emmc|storage)\\b"
+            + "|\\b(?:ssd|hdd|storage)\\s*[:\\-]?\\s*(\\d+(?:\\.\\d+)?)\\s*(tb|gb)");
+    private static final Pattern SCREEN = Pattern.compile(
+            "(\\d{2}(?:\\.\\d{1,2})?)\\s*(?:\"|''|”|″|-?\\s*inch(?:es)?\\b|in\\b)");
+    private static final Pattern CPU = Pattern.compile(
+            "\\b(?:core\\s*)?(i[3579])(?=[\\-\\s,]|\\d{4,5}|$)"
+            + "|\\b(?:core\\s*)?(ultra)\\s*([579])\\b"
+            + "|\\b(ryzen)\\s*([3579])\\b"
+            + "|\\b(m[1-4])(?:\\s*(pro|max|ultra))?\\b"
+            + "|\\b(celeron|pentium|athlon|snapdragon)\\b");
+    private static final Pattern GPU = Pattern.compile(
+            "\\b(rtx|gtx)\\s*a?(\\d{3,4})\\b"
+            + "|\\b(?:radeon\\s*)?(rx)\\s*(\\d{3,4}[a-z]{0,2})\\b"
+            + "|\\b(mx)\\s*(\\d{3})\\b"
+            + "|\\b(iris)\\s*xe\\b"
+            + "|\\b(arc)\\s*(a\\d{3}m?)\\b"
+            + "|\\b(uhd|radeon)\\s*graphics\\b");
+
+    // Sanity bounds so model numbers ("Vivobook 15", "i7-1255") are not read as sizes
+    private static final double MIN_SCREEN_INCHES = 10;
+    private static final double MAX_SCREEN_INCHES = 20;
+
+    private SpecificationParser() {
+    }
+
+    public static ProductAttributes parse(Integer productId, String specifications) {
+        ProductAttributes attributes = new ProductAttributes();
+        attributes.setProductId(productId);
+        if (specifications == null || specifications.isBlank()) {
+            return attributes;
+        }
+        String text = specifications.toLowerCase(Locale.ROOT);
+        attributes.setRamGb(parseRam(text));
+        attributes.setStorageGb(parseStorage(text));
+        attributes.setScreenInches(parseScreen(text));
+        attributes.setCpuFamily(parseCpu(text));
+        attributes.setGpu(parseGpu(text));
+        return attributes;
+    }
+
+    static Integer parseRam(String text) {
+        Matcher m = RAM.matcher(text);
+        if (m.find()) {
+            return Integer.valueOf(m.group(1) != null ? m.group(1) : m.group(2));
+        }
+        m = BARE_RAM.matcher(text);
+        return m.find() ? Integer.valueOf(m.group(1)) : null;
+    }
+
+    // Sum of all drives, in GB (1 TB = 1024 GB)
+    static Integer parseStorage(String text) {
+        Matcher m = STORAGE.matcher(text);
+        double total = 0;
+        while (m.find()) {
+            String amount = m.group(1) != null ? m.group(1) : m.group(3);
+            String unit = m.group(2) != null ? m.group(2) : m.group(4);
+            total += Double.parseDouble(amount) * (unit.equals("tb") ? 1024 : 1);
+        }
+        return total > 0 ? (int) Math.round(total) : null;
+    }
+
+    static Double parseScreen(String text) {
+        Matcher m = SCREEN.matcher(text);
+        while (m.find()) {
+            double inches = Double.parseDouble(m.group(1));
+            if (inches >= MIN_SCREEN_INCHES && inches <= MAX_SCREEN_INCHES) {
+                return inches;
+            }
+        }
+        return null;
+    }
+
+    static String parseCpu(String text) {
+        Matcher m = CPU.matcher(text);
+        if (!m.find()) {
+            return null;
+        }
+        if (m.group(1) != null) {
+            return m.group(1);
+        }
+        if (m.group(2) != null) {
+            return "ultra " + m.group(3);
+        }
+        if (m.group(4) != null) {
+            return "ryzen " + m.group(5);
+        }
+        if (m.group(6) != null) {
+            return m.group(7) != null ? m.group(6) + " " + m.group(7) : m.group(6);
+        }
+        return m.group(8);
+    }
+
+    static String parseGpu(String text) {
+        Matcher m = GPU.matcher(text);
+        if (!m.find()) {
+            return null;
+        }
+        if (m.group(1) != null) {
+            return m.group(1) + " " + m.group(2);
+        }
+        if (m.group(3) != null) {
+            return "rx " + m.group(4);
+        }
+        if (m.group(5) != null) {
+            return "mx " + m.group(6);
+        }
+        if (m.group(7) != null) {
+            return "iris xe";
+        }
+        if (m.group(8) != null) {
+            return "arc " + m.group(9);
+        }
+        return m.group(10) + " graphics";
+    }
+}
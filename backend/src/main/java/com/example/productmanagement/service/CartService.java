@@ -2,8 +2,8 @@ package com.example.productmanagement.service;
 
 import com.example.productmanagement.dto.AddToCartRequest;
 import com.example.productmanagement.dto.CartDTO;
-import com.example.productmanagement.dto.CartItemDTO;
 import com.example.productmanagement.exception.ResourceNotFoundException;
+import com.example.productmanagement.mapper.CartMapper;
 import com.example.productmanagement.model.Cart;
 import com.example.productmanagement.model.CartItem;
 import com.example.productmanagement.model.Product;
@@ -13,20 +13,15 @@ import com.example.productmanagement.repository.CartRepository;
 import com.example.productmanagement.repository.ProductRepository;
 import com.example.productmanagement.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class CartService {
 
-    @Value("${app.base-url}")
-    private String baseUrl;
-
     @Autowired
     private CartRepository cartRepository;
 
@@ -39,6 +34,9 @@ public class CartService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CartMapper cartMapper;
+
     /**
      * Get or create cart for authenticated user
      */
@@ -258,17 +256,7 @@ public class CartService {
      * Convert Cart entity to CartDTO
      */
     private CartDTO convertToDTO(Cart cart) {
-        CartDTO dto = new CartDTO();
-        dto.setId(cart.getId());
-        dto.setUserId(cart.getUser() != null ? cart.getUser().getId() : null);
-        dto.setSessionId(cart.getSessionId());
-        dto.setTotalAmount(cart.getTotalAmount());
-        dto.setTotalItems(cart.getTotalItems());
-
-        // Convert cart items
-        dto.setItems(cart.getItems().stream()
-                .map(this::convertItemToDTO)
-                .collect(Collectors.toList()));
+        CartDTO dto = cartMapper.toDto(cart);
 
         // Calculate shipping cost (example: free shipping over Rs. 50,000)
         BigDecimal shippingCost = cart.getTotalAmount().compareTo(new BigDecimal("50000")) >= 0
@@ -281,31 +269,4 @@ public class CartService {
 
         return dto;
     }
-
-    /**
-     * Convert CartItem entity to CartItemDTO
-     */
-    private CartItemDTO convertItemToDTO(CartItem item) {
-        CartItemDTO dto = new CartItemDTO();
-        dto.setId(item.getId());
-        dto.setCartId(item.getCart().getId());
-        dto.setProductId(item.getProduct().getId());
-        dto.setProductName(item.getProduct().getName());
-        dto.setProductBrand(item.getProduct().getBrand());
-        
-        // Set image URL
-        if (item.getProduct().getImagePath() != null) {
-            dto.setProductImageUrl(baseUrl + "/" + item.getProduct().getImagePath());
-        }
-        
-        dto.setUnitPrice(item.getUnitPrice());
-        dto.setQuantity(item.getQuantity());
-        dto.setSubtotal(item.getSubtotal());
-        dto.setStockQuantity(item.getProduct().getStockQuantity());
-        
-        // Calculate in stock based on stockQuantity
-        dto.setInStock(item.getProduct().getStockQuantity() > 0);
-
-        return dto;
-    }
 }
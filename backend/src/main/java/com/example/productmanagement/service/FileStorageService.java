@@ -1,73 +1,411 @@
 package com.example.productmanagement.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.productmanagement.event.ProductChangedEvent;
+import com.example.productmanagement.repository.OrderItemRepository;
+import com.example.productmanagement.repository.ProductRepository;
+import com.example.productmanagement.storage.StorageBackend;
+import com.example.productmanagement.storage.StoredObject;
+
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.regex.Pattern;
 
+/**
+ * Content-addressed upload storage: a file is named by the SHA-256 of its bytes
+ * ("uploads/3f2a...c9.jpg"), so uploading the same photo again reuses the stored file.
+ * Files are shared, so they are only deleted once no product or order references them.
+ * The bytes live in the configured StorageBackend; uploads are staged locally first.
+ */
 @Service
 public class FileStorageService {
 
-    private final Path uploadsLocation = Paths.get("uploads");
+    private static final String PATH_PREFIX = "uploads/";
+
+    // 64 hex characters plus an optional extension
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]{1,5})?");
+
+    // A file reused by an upload that hasn't been committed yet has no reference in the
+    // database; recently written or reused files are therefore never deleted on release
+    private static final Duration RECENT_UPLOAD_GRACE = Duration.ofMinutes(10);
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    @Value("${app.upload.max-image-bytes:10485760}")
+    private long maxImageBytes;
+
+    // Uploads and derivatives are written here before they go to storage
+    private final Path stagingLocation;
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
 
-    public FileStorageService() {
+    @Autowired
+    private ImageProcessingQueue imageProcessingQueue;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    public FileStorageService(@Value("${app.storage.staging-dir:uploads/.tmp}") String stagingDir) {
+        this.stagingLocation = Paths.get(stagingDir);
         try {
-            // Create uploads directory if it doesn't exist
-            Files.createDirectories(uploadsLocation);
+            // Create the staging directory if it doesn't exist
+            Files.createDirectories(stagingLocation);
         } catch (IOException e) {
             throw new RuntimeException("Could not create upload directory!", e);
         }
     }
 
     /**
-     * Store a file and return its relative path
+     * An upload copied to a temp file in the staging directory, already size-checked and
+     * sniffed. The caller stores the file or deletes it.
+     */
+    public record StagedUpload(Path file, long size, String digest, String contentType, String extension) {
+    }
+
+    /**
+     * Store a file and return its relative path. The upload is validated and hashed in
+     * one streaming pass (see stage), then handed to the storage backend.
      */
     public String storeFile(MultipartFile file) {
+        StagedUpload upload = null;
         try {
-            if (file.isEmpty()) {
-                throw new RuntimeException("Failed to store empty file");
+            upload = stage(file);
+            String filename = upload.digest() + upload.extension();
+            if (storageBackend.exists(filename)) {
+                // Same bytes already stored: keep that file and mark it as recently used
+                storageBackend.touch(filename);
+            } else {
+                storageBackend.put(filename, upload.file(), upload.contentType());
+                // Until the derivatives exist /uploads/** answers variant URLs with a placeholder
+                imageProcessingQueue.submit(filename, () -> generateDerivatives(filename));
             }
 
-            // Generate unique filename to avoid conflicts
-            String originalFilename = file.getOriginalFilename();
-            String fileExtension = "";
-            if (originalFilename != null && originalFilename.contains(".")) {
-                fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
+            // Return relative path
+            return PATH_PREFIX + filename;
+
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file", e);
+        } finally {
+            if (upload != null) {
+                deleteQuietly(upload.file());
             }
-            
-            String uniqueFilename = UUID.randomUUID().toString() + fileExtension;
-            Path destinationFile = uploadsLocation.resolve(uniqueFilename);
+        }
+    }
 
-            // Copy file to destination
-            Files.copy(file.getInputStream(), destinationFile, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * Streams an upload into a temp file through a fixed-size buffer, so heap use does not
+     * grow with the file. The first bytes are checked against known image signatures and the
+     * running size against the cap; a bad upload fails at that point without copying the rest.
+     * Throws IllegalArgumentException for empty, oversized or non-image uploads.
+     */
+    public StagedUpload stage(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Image file is empty");
+        }
+        if (file.getSize() > maxImageBytes) {
+            throw new IllegalArgumentException("Image exceeds " + maxImageBytes + " bytes");
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
 
-            // Return relative path
-            return "uploads/" + uniqueFilename;
+        Path temp = Files.createTempFile(stagingLocation, ".upload-", ".tmp");
+        boolean staged = false;
+        try (ReadableByteChannel in = Channels.newChannel(file.getInputStream());
+                FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+
+            // Fill the buffer up to the signature length (or EOF) before looking at it
+            boolean eof = false;
+            while (buffer.position() < ImageSignature.LONGEST && !eof) {
+                eof = in.read(buffer) < 0;
+            }
+            ImageSignature signature = ImageSignature.detect(buffer.array(), buffer.position());
+            if (signature == null) {
+                throw new IllegalArgumentException("Unsupported image type; use JPEG, PNG, GIF or WebP");
+            }
+
+            long size = 0;
+            while (true) {
+                buffer.flip();
+                size += buffer.remaining();
+                if (size > maxImageBytes) {
+                    throw new IllegalArgumentException("Image exceeds " + maxImageBytes + " bytes");
+                }
+                digest.update(buffer.array(), 0, buffer.limit());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+                if (eof || in.read(buffer) < 0) {
+                    break;
+                }
+            }
+
+            staged = true;
+            return new StagedUpload(temp, size, HexFormat.of().formatHex(digest.digest()),
+                    signature.contentType, signature.extension);
+        } finally {
+            if (!staged) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    /**
+     * Deletes a staged upload that was not moved into storage
+     */
+    public void discard(StagedUpload upload) {
+        if (upload != null) {
+            deleteQuietly(upload.file());
+        }
+    }
+
+    /**
+     * Magic numbers of the accepted image formats
+     */
+    private enum ImageSignature {
+        JPEG("image/jpeg", ".jpg"),
+        PNG("image/png", ".png"),
+        GIF("image/gif", ".gif"),
+        WEBP("image/webp", ".webp");
+
+        // Bytes needed to tell the formats apart ("RIFF....WEBP")
+        static final int LONGEST = 12;
+
+        final String contentType;
+        final String extension;
+
+        ImageSignature(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        static ImageSignature detect(byte[] b, int length) {
+            if (length >= 3 && (b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xD8 && (b[2] & 0xFF) == 0xFF) {
+                return JPEG;
+            }
+            if (length >= 8 && (b[0] & 0xFF) == 0x89 && b[1] == 'P' && b[2] == 'N' && b[3] == 'G'
+                    && b[4] == 0x0D && b[5] == 0x0A && b[6] == 0x1A && b[7] == 0x0A) {
+                return PNG;
+            }
+            if (length >= 6 && b[0] == 'G' && b[1] == 'I' && b[2] == 'F' && b[3] == '8'
+                    && (b[4] == '7' || b[4] == '9') && b[5] == 'a') {
+                return GIF;
+            }
+            if (length >= 12 && b[0] == 'R' && b[1] == 'I' && b[2] == 'F' && b[3] == 'F'
+                    && b[8] == 'W' && b[9] == 'E' && b[10] == 'B' && b[11] == 'P') {
+                return WEBP;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * True for names produced by storeFile; such files never change and can be cached forever
+     */
+    public static boolean isContentAddressed(String filename) {
+        return CONTENT_ADDRESSED.matcher(filename).matches();
+    }
 
+    /**
+     * Stored object to serve for a path below /uploads/ ("abc.jpg", "variants/card/abc.jpg.jpg").
+     * A missing derivative resolves to its original. Null when nothing matches or the path
+     * is not a valid key.
+     */
+    public StoredObject resolveForServing(String relativePath) {
+        // Also hides in-progress temp files (".upload-*.tmp", ".variant-*.tmp") and ".."
+        if (relativePath.isEmpty() || relativePath.startsWith(".") || relativePath.startsWith("/")
+                || relativePath.contains("/.") || relativePath.contains("\\")) {
+            return null;
+        }
+        try {
+            StoredObject object = storageBackend.stat(relativePath);
+            if (object != null) {
+                return object;
+            }
+            String original = ImageDerivativeService.originalOf(relativePath);
+            return original != null ? storageBackend.stat(original) : null;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Bytes start..end (inclusive) of a stored object that has no local file
+     */
+    public InputStream open(StoredObject object, long start, long end) throws IOException {
+        return storageBackend.open(object.key(), start, end);
+    }
+
+    /**
+     * True when an image path as products store it ("uploads/abc.jpg") names an original
+     * that exists in storage. Variant paths and anything outside uploads/ are not image paths.
+     */
+    public boolean isStoredImage(String filePath) throws IOException {
+        if (filePath == null || !filePath.startsWith(PATH_PREFIX)) {
+            return false;
+        }
+        String key = keyOf(filePath);
+        if (key.isEmpty() || key.startsWith(".") || key.contains("/") || key.contains("\\")) {
+            return false;
+        }
+        return storageBackend.exists(key);
+    }
+
+    public Path stagingRoot() {
+        return stagingLocation.toAbsolutePath().normalize();
+    }
+
+    /**
+     * State of the derivative job for a stored image path ("uploads/abc.jpg")
+     */
+    public ImageProcessingQueue.Status imageStatus(String imagePath) {
+        String key = keyOf(imagePath);
+        ImageProcessingQueue.Status pending = imageProcessingQueue.pendingStatus(key);
+        if (pending != null) {
+            return pending;
+        }
+        // Sizes are stored largest first, so the smallest one exists only once all do
+        String smallest = ImageDerivativeService.SIZES.keySet().iterator().next();
+        try {
+            return storageBackend.exists(ImageDerivativeService.variantPath(key, smallest))
+                    ? ImageProcessingQueue.Status.READY
+                    : ImageProcessingQueue.Status.UNAVAILABLE;
         } catch (IOException e) {
-            throw new RuntimeException("Failed to store file", e);
+            return ImageProcessingQueue.Status.UNAVAILABLE;
+        }
+    }
+
+    /**
+     * True while derivatives of an original below /uploads/ are still being generated
+     */
+    public boolean isProcessing(String originalName) {
+        return imageProcessingQueue.isPending(originalName);
+    }
+
+    /**
+     * Drops one reference to a stored image: the file (and its derivatives) is deleted when
+     * no product or order item points at it any more and it wasn't stored or reused recently.
+     */
+    public void releaseFile(String filePath) {
+        if (filePath == null || filePath.isEmpty()) {
+            return;
+        }
+        if (productRepository.countByImagePath(filePath) > 0 || orderItemRepository.existsByProductImagePath(filePath)) {
+            return;
+        }
+        try {
+            StoredObject object = storageBackend.stat(keyOf(filePath));
+            if (object != null && object.lastModified().isAfter(Instant.now().minus(RECENT_UPLOAD_GRACE))) {
+                return;
+            }
+        } catch (IOException e) {
+            return;
+        }
+        deleteFile(filePath);
+    }
+
+    /**
+     * Releases the previous image once a product change that replaced or removed it commits
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getPrevious() == null) {
+            return;
+        }
+        String previousPath = event.getPrevious().getImagePath();
+        String currentPath = event.getCurrent() != null ? event.getCurrent().getImagePath() : null;
+        if (previousPath != null && !Objects.equals(previousPath, currentPath)) {
+            releaseFile(previousPath);
         }
     }
 
     /**
-     * Delete a file given its path
+     * Delete a file given its path. Callers must make sure nothing else references it;
+     * see releaseFile.
      */
     public void deleteFile(String filePath) {
         try {
             if (filePath != null && !filePath.isEmpty()) {
-                // Extract just the filename from the path
-                String filename = filePath.replace("uploads/", "");
-                Path fileToDelete = uploadsLocation.resolve(filename);
-                Files.deleteIfExists(fileToDelete);
+                String key = keyOf(filePath);
+                storageBackend.delete(key);
+                for (String size : ImageDerivativeService.SIZES.keySet()) {
+                    storageBackend.delete(ImageDerivativeService.variantPath(key, size));
+                }
             }
-        } catch (IOException e) {
+        } catch (IOException | IllegalArgumentException e) {
             // Log error but don't throw exception
             System.err.println("Failed to delete file: " + filePath);
         }
     }
+
+    // "uploads/abc.jpg" -> "abc.jpg"
+    private static String keyOf(String filePath) {
+        return filePath.startsWith(PATH_PREFIX) ? filePath.substring(PATH_PREFIX.length()) : filePath;
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            System.err.println("Failed to delete temp file: " + path);
+        }
+    }
+
+    // Runs on the image queue. Backends without local files (S3) are read into a temp copy.
+    private boolean generateDerivatives(String key) throws IOException {
+        StoredObject original = storageBackend.stat(key);
+        if (original == null) {
+            return false;
+        }
+        Path source = original.localFile();
+        Path download = null;
+        try {
+            if (source == null) {
+                download = Files.createTempFile(stagingLocation, ".download-", ".tmp");
+                try (InputStream in = storageBackend.open(key, 0, original.size() - 1)) {
+                    Files.copy(in, download, StandardCopyOption.REPLACE_EXISTING);
+                }
+                source = download;
+            }
+            return imageDerivativeService.generate(source, stagingLocation,
+                    (size, file) -> storageBackend.put(ImageDerivativeService.variantPath(key, size), file, "image/jpeg"));
+        } finally {
+            deleteQuietly(download);
+        }
+    }
 }
@@ -0,0 +1,244 @@
+package com.example.productmanagement.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.stereotype.Service;
+
+/**
+ * Generates fixed-size JPEG derivatives of an uploaded product photo so listings can
+ * download a few KB instead of the original. A derivative of "uploads/abc.png" is stored
+ * as "uploads/variants/card/abc.png.jpg"; UploadController falls back to the
+ * original when a derivative is missing (older uploads, formats ImageIO can't read).
+ * Files are written to a local work directory and handed to a sink that stores them.
+ */
+@Service
+public class ImageDerivativeService {
+
+    public static final String VARIANTS_DIR = "variants";
+
+    // Variant name -> longest edge in pixels
+    public static final Map<String, Integer> SIZES = new LinkedHashMap<>();
+    static {
+        SIZES.put("thumb", 200);
+        SIZES.put("card", 480);
+        SIZES.put("detail", 1200);
+    }
+
+    // Hero banner widths for srcset; heroes are full-bleed, so they scale by width
+    public static final List<Integer> HERO_WIDTHS = List.of(640, 1280, 1920);
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    // Larger images are not decoded at all (a 40 MP RGB image is ~160 MB of heap)
+    private static final long MAX_SOURCE_PIXELS = 40_000_000L;
+
+    /**
+     * Receives each finished derivative as a temp file; it may move the file away
+     */
+    @FunctionalInterface
+    public interface DerivativeSink {
+        void accept(String size, Path file) throws IOException;
+    }
+
+    /**
+     * Writes every derivative of original into workDir and passes it to sink, largest
+     * first. Returns false when the file is not an image ImageIO can decode; derivatives
+     * are then simply absent.
+     */
+    public boolean generate(Path original, Path workDir, DerivativeSink sink) throws IOException {
+        BufferedImage source = decode(original, SIZES.get("detail"), false);
+        if (source == null) {
+            return false;
+        }
+        Files.createDirectories(workDir);
+        // Largest first, each size scaled down from the previous one
+        List<Map.Entry<String, Integer>> sizes = new ArrayList<>(SIZES.entrySet());
+        Collections.reverse(sizes);
+        BufferedImage scaled = source;
+        for (Map.Entry<String, Integer> size : sizes) {
+            scaled = scale(scaled, size.getValue());
+            Path temp = Files.createTempFile(workDir, ".variant-", ".tmp");
+            try {
+                writeJpeg(scaled, temp);
+                sink.accept(size.getKey(), temp);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes a recompressed JPEG of original at each of widths that is narrower than the
+     * source and passes it to sink (size = the width), largest first. Images are never
+     * upscaled and no metadata (EXIF, ICC, comments) is copied. Returns false when the
+     * file is not an image ImageIO can decode.
+     */
+    public boolean generateWidths(Path original, Path workDir, List<Integer> widths, DerivativeSink sink)
+            throws IOException {
+        List<Integer> descending = new ArrayList<>(widths);
+        descending.sort(Collections.reverseOrder());
+        BufferedImage source = decode(original, descending.get(0), true);
+        if (source == null) {
+            return false;
+        }
+        Files.createDirectories(workDir);
+        BufferedImage scaled = source;
+        for (int width : descending) {
+            if (width >= scaled.getWidth()) {
+                continue;
+            }
+            scaled = scale(scaled, (double) width / scaled.getWidth());
+            Path temp = Files.createTempFile(workDir, ".variant-", ".tmp");
+            try {
+                writeJpeg(scaled, temp);
+                sink.accept(Integer.toString(width), temp);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * "uploads/abc.png" -> "uploads/variants/card/abc.png.jpg"
+     */
+    public static String variantPath(String imagePath, String size) {
+        int slash = imagePath.lastIndexOf('/');
+        String directory = slash >= 0 ? imagePath.substring(0, slash + 1) : "";
+        return directory + VARIANTS_DIR + "/" + size + "/" + imagePath.substring(slash + 1) + ".jpg";
+    }
+
+    /**
+     * Inverse of variantPath relative to the uploads directory:
+     * "variants/card/abc.png.jpg" -> "abc.png"; null for anything else
+     */
+    public static String originalOf(String relativePath) {
+        String[] parts = relativePath.split("/");
+        if (parts.length != 3 || !parts[0].equals(VARIANTS_DIR) || !SIZES.containsKey(parts[1])
+                || !parts[2].endsWith(".jpg")) {
+            return null;
+        }
+        return parts[2].substring(0, parts[2].length() - ".jpg".length());
+    }
+
+    // Decodes with source subsampling so a 6000px photo is never fully materialized
+    // when the largest derivative only needs 1200px. The target is the longest edge,
+    // or the width when byWidth is set.
+    private BufferedImage decode(Path file, int target, boolean byWidth) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    System.out.println("Skipping derivatives for " + file + ": " + width + "x" + height + " is too large");
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                // Keep at least twice the target size so the final downscale stays sharp
+                int step = Math.max(1, (byWidth ? width : Math.max(width, height)) / (target * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Halves repeatedly with bilinear filtering, then does the final step; far sharper than
+    // a single large bilinear step and much cheaper than Image.SCALE_SMOOTH
+    private static BufferedImage scale(BufferedImage source, int longestEdge) {
+        return scale(source, (double) longestEdge / Math.max(source.getWidth(), source.getHeight()));
+    }
+
+    private static BufferedImage scale(BufferedImage source, double factor) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        factor = Math.min(1.0, factor);
+        int targetWidth = Math.max(1, (int) Math.round(width * factor));
+        int targetHeight = Math.max(1, (int) Math.round(height * factor));
+
+        BufferedImage current = toRgb(source);
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = resize(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        if (current.getWidth() != targetWidth || current.getHeight() != targetHeight) {
+            current = resize(current, targetWidth, targetHeight);
+        }
+        return current;
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    // JPEG has no alpha: flatten transparent PNGs onto white
+    private static BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, rgb.getWidth(), rgb.getHeight());
+            g.drawImage(source, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
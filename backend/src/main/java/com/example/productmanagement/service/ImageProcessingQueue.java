@@ -0,0 +1,158 @@
+package com.example.productmanagement.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Generates image derivatives off the request thread. A fixed pool of workers drains a
+ * bounded queue; when the queue is full the submitting request runs the job itself, which
+ * slows uploads down instead of piling up work (or memory) without limit.
+ * Only queued and running jobs are tracked; afterwards the stored variants are the status.
+ */
+@Service
+public class ImageProcessingQueue implements DisposableBean {
+
+    public enum Status {
+        QUEUED, PROCESSING, READY, UNAVAILABLE
+    }
+
+    private final ThreadPoolExecutor executor;
+
+    // Original file name -> state of its pending job
+    private final Map<String, Status> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+
+    public ImageProcessingQueue(
+            @Value("${app.image.workers:2}") int workers,
+            @Value("${app.image.queue-capacity:100}") int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new WorkerThreadFactory(),
+                (task, pool) -> {
+                    if (pool.isShutdown()) {
+                        // Not run, so it must not be reported as pending forever
+                        drop((Job) task);
+                        return;
+                    }
+                    // Back-pressure: the uploading request does the work
+                    callerRuns.incrementAndGet();
+                    task.run();
+                });
+    }
+
+    /**
+     * Queues derivative generation for a stored original; job returns false when the
+     * image could not be processed. A job already pending for the same name is not
+     * queued twice. Ignored once the queue is shut down; the original is served then.
+     */
+    public void submit(String name, Callable<Boolean> job) {
+        if (executor.isShutdown() || pending.putIfAbsent(name, Status.QUEUED) != null) {
+            return;
+        }
+        // Shut down in between: the rejection handler removes the entry again
+        executor.execute(new Job(name, job));
+    }
+
+    /**
+     * QUEUED or PROCESSING while a job is pending, null otherwise
+     */
+    public Status pendingStatus(String name) {
+        return pending.get(name);
+    }
+
+    public boolean isPending(String originalName) {
+        return pending.containsKey(originalName);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("workers", executor.getMaximumPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("queueCapacity", executor.getQueue().size() + executor.getQueue().remainingCapacity());
+        stats.put("completed", completed.get());
+        stats.put("failed", failed.get());
+        stats.put("callerRuns", callerRuns.get());
+        long done = completed.get() + failed.get();
+        stats.put("averageMillis", done == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.get() / done));
+        return stats;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            for (Runnable task : executor.shutdownNow()) {
+                drop((Job) task);
+            }
+        }
+    }
+
+    private void drop(Job job) {
+        pending.remove(job.name, Status.QUEUED);
+        System.out.println("Skipping image derivatives for " + job.name + ": image queue is shut down");
+    }
+
+    private void process(String name, Callable<Boolean> job) {
+        pending.put(name, Status.PROCESSING);
+        long start = System.nanoTime();
+        try {
+            if (job.call()) {
+                completed.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+                System.out.println("No image derivatives for " + name + ": unsupported format");
+            }
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            System.err.println("Failed to generate image derivatives for " + name + ": " + e.getMessage());
+        } finally {
+            totalNanos.addAndGet(System.nanoTime() - start);
+            pending.remove(name);
+        }
+    }
+
+    // Keeps the name, so jobs dropped at shutdown can be cleared from pending
+    private final class Job implements Runnable {
+        private final String name;
+        private final Callable<Boolean> job;
+
+        Job(String name, Callable<Boolean> job) {
+            this.name = name;
+            this.job = job;
+        }
+
+        @Override
+        public void run() {
+            process(name, job);
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "image-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            // Keep resizing from competing with request threads
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    }
+}
@@ -2,7 +2,6 @@ package com.example.productmanagement.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -12,7 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.example.productmanagement.dto.CreateOrderRequest;
 import com.example.productmanagement.dto.OrderDTO;
-import com.example.productmanagement.dto.OrderItemDTO;
+import com.example.productmanagement.mapper.OrderMapper;
 import com.example.productmanagement.model.Cart;
 import com.example.productmanagement.model.Order;
 import com.example.productmanagement.model.OrderItem;
@@ -38,6 +37,7 @@ public class OrderService {
     private final CartRepository cartRepository;
     private final UserRepository userRepository;
     private final HttpServletRequest request;
+    private final OrderMapper orderMapper;
 
     @Transactional
     public OrderDTO createOrder(CreateOrderRequest orderRequest) {
@@ -93,6 +93,7 @@ public class OrderService {
             if (product.getImagePath() != null && !product.getImagePath().isEmpty()) {
                 String imageUrl = baseUrl + "/" + product.getImagePath();
                 orderItem.setProductImageUrl(imageUrl);
+                orderItem.setProductImagePath(product.getImagePath());
             }
 
             order.getOrderItems().add(orderItem);
@@ -121,31 +122,27 @@ public class OrderService {
             System.err.println("Failed to clear cart after order: " + e.getMessage());
         }
 
-        return convertToDTO(savedOrder);
+        return orderMapper.toDto(savedOrder);
     }
 
     public List<OrderDTO> getAllOrders() {
-        return orderRepository.findAllByOrderByCreatedAtDesc().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return orderMapper.toDtoList(orderRepository.findAllByOrderByCreatedAtDesc());
     }
 
     public List<OrderDTO> getOrdersByStatus(Order.OrderStatus status) {
-        return orderRepository.findByStatusOrderByCreatedAtDesc(status).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return orderMapper.toDtoList(orderRepository.findByStatusOrderByCreatedAtDesc(status));
     }
 
     public OrderDTO getOrderById(Long id) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
-        return convertToDTO(order);
+        return orderMapper.toDto(order);
     }
 
     public OrderDTO getOrderByNumber(String orderNumber) {
         Order order = orderRepository.findByOrderNumber(orderNumber)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
-        return convertToDTO(order);
+        return orderMapper.toDto(order);
     }
 
     @Transactional
@@ -163,7 +160,7 @@ public class OrderService {
         }
 
         Order updatedOrder = orderRepository.save(order);
-        return convertToDTO(updatedOrder);
+        return orderMapper.toDto(updatedOrder);
     }
 
     @Transactional
@@ -172,7 +169,7 @@ public class OrderService {
                 .orElseThrow(() -> new RuntimeException("Order not found"));
         order.setNotes(notes);
         Order updatedOrder = orderRepository.save(order);
-        return convertToDTO(updatedOrder);
+        return orderMapper.toDto(updatedOrder);
     }
 
     public List<OrderDTO> getUserOrders() {
@@ -180,69 +177,8 @@ public class OrderService {
         if (auth != null && auth.isAuthenticated() && !auth.getName().equals("anonymousUser")) {
             User user = userRepository.findByUsername(auth.getName())
                     .orElseThrow(() -> new RuntimeException("User not found"));
-            return orderRepository.findByUserOrderByCreatedAtDesc(user).stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            return orderMapper.toDtoList(orderRepository.findByUserOrderByCreatedAtDesc(user));
         }
         return List.of();
     }
-
-    private OrderDTO convertToDTO(Order order) {
-        OrderDTO dto = new OrderDTO();
-        dto.setId(order.getId());
-        dto.setOrderNumber(order.getOrderNumber());
-        
-        if (order.getUser() != null) {
-            dto.setUserId(order.getUser().getId());
-            dto.setUserName(order.getUser().getUsername());
-            dto.setUserEmail(order.getUser().getEmail());
-        }
-
-        dto.setItems(order.getOrderItems().stream()
-                .map(this::convertItemToDTO)
-                .collect(Collectors.toList()));
-
-        dto.setSubtotal(order.getSubtotal());
-        dto.setShippingCost(order.getShippingCost());
-        dto.setTotalAmount(order.getTotalAmount());
-        dto.setStatus(order.getStatus());
-        dto.setPaymentMethod(order.getPaymentMethod());
-        dto.setShippingFullName(order.getShippingFullName());
-        dto.setShippingEmail(order.getShippingEmail());
-        dto.setShippingPhone(order.getShippingPhone());
-        dto.setShippingAddress(order.getShippingAddress());
-        dto.setShippingCity(order.getShippingCity());
-        dto.setShippingPostalCode(order.getShippingPostalCode());
-        dto.setShippingCountry(order.getShippingCountry());
-        dto.setCreatedAt(order.getCreatedAt());
-        dto.setUpdatedAt(order.getUpdatedAt());
-        dto.setShippedAt(order.getShippedAt());
-        dto.setDeliveredAt(order.getDeliveredAt());
-        dto.setNotes(order.getNotes());
-
-        return dto;
-    }
-
-    private OrderItemDTO convertItemToDTO(OrderItem item) {
-        OrderItemDTO dto = new OrderItemDTO();
-        dto.setId(item.getId());
-        dto.setProductId(item.getProduct().getId().longValue());
-        dto.setProductName(item.getProductName());
-        dto.setQuantity(item.getQuantity());
-        dto.setPriceAtPurchase(item.getPriceAtPurchase());
-        dto.setSubtotal(item.getSubtotal());
-        dto.setShippingCost(item.getShippingCost());
-        
-        // Handle image URL - convert relative path to full URL if needed
-        String imageUrl = item.getProductImageUrl();
-        if (imageUrl != null && !imageUrl.isEmpty()) {
-            if (!imageUrl.startsWith("http")) {
-                // Old format: relative path like "/uploads/image.jpg" or "uploads/image.jpg"
-                imageUrl = baseUrl + "/" + (imageUrl.startsWith("/") ? imageUrl.substring(1) : imageUrl);
-            }
-            dto.setProductImageUrl(imageUrl);
-        }
-        
-        return dto;
-    }
 }
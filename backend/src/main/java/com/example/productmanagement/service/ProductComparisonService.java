@@ -0,0 +1,164 @@
+package com.example.productmanagement.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.productmanagement.cache.CatalogVersions;
+import com.example.productmanagement.cache.ProductCatalogCache;
+import com.example.productmanagement.dto.ComparisonRowDTO;
+import com.example.productmanagement.dto.ProductBatchDTO;
+import com.example.productmanagement.dto.ProductComparisonDTO;
+import com.example.productmanagement.dto.ProductDTO;
+import com.example.productmanagement.exception.ResourceNotFoundException;
+import com.example.productmanagement.model.ProductAttributes;
+import com.example.productmanagement.search.ProductAttributeIndex;
+
+/**
+ * Side-by-side comparison of 2-4 products. Catalog fields and parsed specification
+ * attributes are aligned into rows with one column per product; rows whose values
+ * differ are flagged and ranked rows name the winning product(s).
+ */
+@Service
+public class ProductComparisonService {
+
+    public static final int MIN_PRODUCTS = 2;
+    public static final int MAX_PRODUCTS = 4;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductCatalogCache productCatalogCache;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private ProductAttributeIndex productAttributeIndex;
+
+    public ProductComparisonDTO compare(List<Integer> ids) {
+        if (ids == null || ids.contains(null)) {
+            throw new IllegalArgumentException("Ids must not be null");
+        }
+        // Sorted and de-duplicated, so ?ids=3,1 and ?ids=1,3 share a cache entry
+        TreeSet<Integer> sorted = new TreeSet<>(ids);
+        if (sorted.size() < MIN_PRODUCTS || sorted.size() > MAX_PRODUCTS) {
+            throw new IllegalArgumentException("Compare between " + MIN_PRODUCTS + " and " + MAX_PRODUCTS
+                    + " different products");
+        }
+
+        StringBuilder key = new StringBuilder();
+        for (Integer id : sorted) {
+            key.append(catalogVersions.product(id).etag()).append(';');
+        }
+        return productCatalogCache.getComparison(key.toString(), k -> build(new ArrayList<>(sorted)));
+    }
+
+    private ProductComparisonDTO build(List<Integer> ids) {
+        ProductBatchDTO batch = productService.getProductsByIds(ids);
+        if (!batch.getMissingIds().isEmpty()) {
+            throw new ResourceNotFoundException("Products not found with ids: " + batch.getMissingIds());
+        }
+        List<ProductDTO> products = batch.getItems();
+        Map<Integer, ProductAttributes> specs = new HashMap<>();
+        for (ProductDTO product : products) {
+            // The same parsed attributes the facet and range filters use
+            ProductAttributes attributes = productAttributeIndex.get(product.getId());
+            specs.put(product.getId(), attributes != null ? attributes : new ProductAttributes(product.getId(), null, null, null, null, null));
+        }
+
+        ProductComparisonDTO comparison = new ProductComparisonDTO();
+        comparison.setProducts(products);
+        List<ComparisonRowDTO> rows = comparison.getRows();
+        rows.add(row("price", "Price", products, ProductDTO::getPrice, Ranking.LOWEST));
+        rows.add(row("brand", "Brand", products, ProductDTO::getBrand, Ranking.NONE));
+        rows.add(row("category", "Category", products, ProductDTO::getCategory, Ranking.NONE));
+        rows.add(row("condition", "Condition", products, ProductDTO::getCondition, Ranking.NONE));
+        rows.add(row("cpuFamily", "Processor", products, column(specs, ProductAttributes::getCpuFamily), Ranking.NONE));
+        rows.add(row("ramGb", "RAM (GB)", products, column(specs, ProductAttributes::getRamGb), Ranking.HIGHEST));
+        rows.add(row("storageGb", "Storage (GB)", products, column(specs, ProductAttributes::getStorageGb), Ranking.HIGHEST));
+        rows.add(row("screenInches", "Screen (inches)", products, column(specs, ProductAttributes::getScreenInches), Ranking.NONE));
+        rows.add(row("gpu", "Graphics", products, column(specs, ProductAttributes::getGpu), Ranking.NONE));
+        rows.add(row("warranty", "Warranty", products, ProductDTO::getWarranty, Ranking.NONE));
+        rows.add(row("productAvailable", "In stock", products, ProductDTO::getProductAvailable, Ranking.NONE));
+        return comparison;
+    }
+
+    private enum Ranking {
+        NONE, LOWEST, HIGHEST
+    }
+
+    // Adapts a per-product attribute getter to the product column it belongs to
+    private static <T> Function<ProductDTO, T> column(Map<Integer, ProductAttributes> specs,
+            Function<ProductAttributes, T> getter) {
+        return product -> getter.apply(specs.get(product.getId()));
+    }
+
+    private static <T> ComparisonRowDTO row(String attribute, String label, List<ProductDTO> products,
+            Function<ProductDTO, T> getter, Ranking ranking) {
+        ComparisonRowDTO row = new ComparisonRowDTO();
+        row.setAttribute(attribute);
+        row.setLabel(label);
+
+        Object first = null;
+        boolean seen = false;
+        for (ProductDTO product : products) {
+            Object value = getter.apply(product);
+            row.getValues().add(value);
+            if (value == null) {
+                continue;
+            }
+            Object normalized = normalize(value);
+            if (!seen) {
+                first = normalized;
+                seen = true;
+            } else if (!Objects.equals(first, normalized)) {
+                row.setDifferent(true);
+            }
+        }
+
+        if (ranking != Ranking.NONE && row.isDifferent()) {
+            Object best = null;
+            for (Object value : row.getValues()) {
+                if (value != null && (best == null
+                        || (ranking == Ranking.LOWEST ? compare(value, best) < 0 : compare(value, best) > 0))) {
+                    best = value;
+                }
+            }
+            for (int i = 0; i < products.size(); i++) {
+                Object value = row.getValues().get(i);
+                if (value != null && compare(value, best) == 0) {
+                    row.getBestProductIds().add(products.get(i).getId());
+                }
+            }
+        }
+        return row;
+    }
+
+    // Only called for rows of one numeric type
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compare(Object a, Object b) {
+        return ((Comparable) a).compareTo(b);
+    }
+
+    // "Dell " vs "dell", 1500.0 vs 1500.00 count as equal
+    private static Object normalize(Object value) {
+        if (value instanceof String text) {
+            return text.trim().toLowerCase(Locale.ROOT);
+        }
+        if (value instanceof BigDecimal number) {
+            return number.stripTrailingZeros();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.productmanagement.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.productmanagement.dto.ProductDTO;
+import com.example.productmanagement.mapper.ProductMapper;
+import com.example.productmanagement.model.Product;
+import com.example.productmanagement.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Streams the whole catalog as NDJSON (one ProductDTO per line) with constant memory:
+ * rows come from a forward-only database cursor and are detached as soon as they are written.
+ */
+@Service
+public class ProductExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductMapper productMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Write every product to out as NDJSON, optionally gzip-compressed. Returns the row count.
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out, boolean gzip) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ProductDTO.class);
+        OutputStream target = gzip
+                ? new GZIPOutputStream(out, BUFFER_SIZE)
+                : new BufferedOutputStream(out, BUFFER_SIZE);
+
+        long rows = 0;
+        try (Stream<Product> products = productRepository.streamAllOrderById()) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                target.write(writer.writeValueAsBytes(productMapper.toDto(product)));
+                target.write('\n');
+                // Keep the persistence context from growing with the catalog
+                entityManager.detach(product);
+                rows++;
+            }
+        }
+
+        if (target instanceof GZIPOutputStream gzipStream) {
+            gzipStream.finish();
+        }
+        target.flush();
+        return rows;
+    }
+}
@@ -0,0 +1,355 @@
+package com.example.productmanagement.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.LineNumberReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.productmanagement.dto.ProductDTO;
+import com.example.productmanagement.dto.ProductImportErrorDTO;
+import com.example.productmanagement.dto.ProductImportResultDTO;
+import com.example.productmanagement.event.ProductChangedEvent;
+import com.example.productmanagement.mapper.ProductMapper;
+import com.example.productmanagement.model.Product;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk product import from CSV or JSON.
+ * Rows are validated in parallel, then inserted in chunks: one transaction per chunk,
+ * with Hibernate JDBC batching (hibernate.jdbc.batch_size) inside it. A chunk that fails
+ * to commit is rolled back on its own; its rows are reported as failed and the import
+ * continues, so the report always says exactly which rows to resend. Product ids come from
+ * a pooled table generator, so Hibernate can batch the inserts instead of round-tripping
+ * for every IDENTITY value.
+ */
+@Service
+public class ProductImportService {
+
+    // Cap the error list so a completely broken file doesn't produce a huge response
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    @Value("${app.product.import.batch-size:500}")
+    private int defaultBatchSize;
+
+    @Value("${app.product.import.max-batch-size:5000}")
+    private int maxBatchSize;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductMapper productMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    public ProductImportResultDTO importProducts(MultipartFile file, Integer batchSize) throws IOException {
+        int chunkSize = batchSize != null ? batchSize : defaultBatchSize;
+        if (chunkSize < 1 || chunkSize > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size must be between 1 and " + maxBatchSize);
+        }
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Import file is empty");
+        }
+
+        long start = System.nanoTime();
+        List<ImportRow> rows = isJson(file) ? parseJson(file.getInputStream()) : parseCsv(file.getInputStream());
+
+        // Bean validation is CPU-bound and independent per row
+        rows.parallelStream().forEach(this::validate);
+        validateImagePaths(rows);
+
+        List<ImportRow> valid = new ArrayList<>(rows.size());
+        List<ImportRow> invalid = new ArrayList<>();
+        for (ImportRow row : rows) {
+            (row.errors.isEmpty() ? valid : invalid).add(row);
+        }
+
+        int imported = 0;
+        List<ImportRow> failed = new ArrayList<>(invalid);
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            List<ImportRow> chunk = valid.subList(from, Math.min(from + chunkSize, valid.size()));
+            try {
+                imported += insertChunk(chunk);
+            } catch (RuntimeException e) {
+                System.err.println("Product import chunk of rows " + chunk.get(0).rowNumber + "-"
+                        + chunk.get(chunk.size() - 1).rowNumber + " failed: " + e.getMessage());
+                for (ImportRow row : chunk) {
+                    row.errors.add("Not imported, its batch was rolled back: " + rootMessage(e));
+                    failed.add(row);
+                }
+            }
+        }
+        failed.sort(Comparator.comparingInt(row -> row.rowNumber));
+
+        long elapsedNanos = System.nanoTime() - start;
+        ProductImportResultDTO result = new ProductImportResultDTO();
+        result.setTotalRows(rows.size());
+        result.setImported(imported);
+        result.setFailed(failed.size());
+        result.setErrors(failed.stream()
+                .limit(MAX_REPORTED_ERRORS)
+                .map(row -> new ProductImportErrorDTO(row.rowNumber, row.errors))
+                .collect(Collectors.toList()));
+        result.setErrorsTruncated(failed.size() > MAX_REPORTED_ERRORS);
+        result.setBatchSize(chunkSize);
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        // Throughput of rows actually inserted; rejected rows cost next to nothing
+        result.setRowsPerSecond(elapsedNanos == 0 ? 0 : imported * 1_000_000_000.0 / elapsedNanos);
+        return result;
+    }
+
+    /**
+     * Persist one chunk in its own transaction. Listeners of the published events
+     * (caches, indexes) run once the chunk has committed.
+     */
+    private int insertChunk(List<ImportRow> chunk) {
+        Integer inserted = transactionTemplate.execute(status -> {
+            for (ImportRow row : chunk) {
+                entityManager.persist(row.product);
+            }
+            entityManager.flush();
+            for (ImportRow row : chunk) {
+                eventPublisher.publishEvent(ProductChangedEvent.created(productMapper.copy(row.product)));
+            }
+            entityManager.clear();
+            return chunk.size();
+        });
+        return inserted != null ? inserted : 0;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    private void validate(ImportRow row) {
+        if (!row.errors.isEmpty()) {
+            return;
+        }
+        Set<ConstraintViolation<Product>> violations = validator.validate(row.product);
+        violations.stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .forEach(v -> row.errors.add(v.getPropertyPath() + ": " + v.getMessage()));
+    }
+
+    /**
+     * An imported imagePath must name an image already in upload storage; otherwise the
+     * product would point at nothing, or at a file the cleanup is about to delete.
+     * Each distinct path is looked up once.
+     */
+    private void validateImagePaths(List<ImportRow> rows) {
+        Set<String> paths = new LinkedHashSet<>();
+        for (ImportRow row : rows) {
+            if (row.errors.isEmpty() && row.product.getImagePath() != null) {
+                paths.add(row.product.getImagePath());
+            }
+        }
+        if (paths.isEmpty()) {
+            return;
+        }
+        Map<String, String> problems = new HashMap<>();
+        for (String path : paths) {
+            try {
+                if (!fileStorageService.isStoredImage(path)) {
+                    problems.put(path, "imagePath: no stored image " + path + ", upload it first");
+                }
+            } catch (IOException e) {
+                problems.put(path, "imagePath: could not check " + path + ": " + e.getMessage());
+            }
+        }
+        for (ImportRow row : rows) {
+            String problem = row.product.getImagePath() != null ? problems.get(row.product.getImagePath()) : null;
+            if (problem != null && row.errors.isEmpty()) {
+                row.errors.add(problem);
+            }
+        }
+    }
+
+    private static boolean isJson(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        String contentType = file.getContentType();
+        return (name != null && name.toLowerCase(Locale.ROOT).endsWith(".json"))
+                || (contentType != null && contentType.contains("json"));
+    }
+
+    private List<ImportRow> parseJson(InputStream in) throws IOException {
+        List<ProductDTO> dtos = objectMapper.readValue(in, new TypeReference<List<ProductDTO>>() { });
+        List<ImportRow> rows = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            ProductDTO dto = dtos.get(i);
+            Product product = new Product();
+            // Start from the defaults the admin form uses, then apply the row
+            product.setCondition("NEW");
+            productMapper.applyPatch(dto, product);
+            product.setId(null);
+            rows.add(new ImportRow(i + 1, product));
+        }
+        return rows;
+    }
+
+    /**
+     * CSV with a header row naming Product fields (name, brand, price, category, ...).
+     * Supports quoted values with embedded commas, quotes ("") and line breaks.
+     * Rows are numbered by the physical line they start on (the header is line 1), so the
+     * numbers match what an editor shows even when quoted values span lines.
+     */
+    private List<ImportRow> parseCsv(InputStream in) throws IOException {
+        LineNumberReader reader = new LineNumberReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> header = readCsvRecord(reader);
+        if (header == null) {
+            return new ArrayList<>();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Tolerate a UTF-8 BOM and any casing in the header
+            columns.put(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        List<ImportRow> rows = new ArrayList<>();
+        List<String> record;
+        int line = reader.getLineNumber() + 1;
+        while ((record = readCsvRecord(reader)) != null) {
+            int startLine = line;
+            line = reader.getLineNumber() + 1;
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            Product product = new Product();
+            ImportRow row = new ImportRow(startLine, product);
+
+            product.setName(column(record, columns, "name"));
+            product.setDescription(column(record, columns, "description"));
+            product.setBrand(column(record, columns, "brand"));
+            product.setCategory(column(record, columns, "category"));
+            product.setSpecifications(column(record, columns, "specifications"));
+            product.setWarranty(column(record, columns, "warranty"));
+            String condition = column(record, columns, "condition");
+            product.setCondition(condition != null ? condition : "NEW");
+            product.setImagePath(column(record, columns, "imagepath"));
+
+            String price = column(record, columns, "price");
+            if (price != null) {
+                try {
+                    product.setPrice(new BigDecimal(price));
+                } catch (NumberFormatException e) {
+                    row.errors.add("price: not a number: " + price);
+                }
+            }
+            String stock = column(record, columns, "stockquantity");
+            if (stock != null) {
+                try {
+                    product.setStockQuantity(Integer.valueOf(stock));
+                } catch (NumberFormatException e) {
+                    row.errors.add("stockQuantity: not an integer: " + stock);
+                }
+            }
+            String available = column(record, columns, "productavailable");
+            product.setProductAvailable(available != null && Boolean.parseBoolean(available));
+
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Returns null at end of input. LineNumberReader hands every line break over as '\n'.
+    private static List<String> readCsvRecord(LineNumberReader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static final class ImportRow {
+        private final int rowNumber;
+        private final Product product;
+        private final List<String> errors = new ArrayList<>();
+
+        private ImportRow(int rowNumber, Product product) {
+            this.rowNumber = rowNumber;
+            this.product = product;
+        }
+    }
+}
@@ -2,29 +2,58 @@ package com.example.productmanagement.service;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.productmanagement.cache.ProductCatalogCache;
+import com.example.productmanagement.dto.ImageStatusDTO;
+import com.example.productmanagement.dto.ProductBatchDTO;
 import com.example.productmanagement.dto.ProductDTO;
+import com.example.productmanagement.dto.ProductFacetResultDTO;
+import com.example.productmanagement.dto.ProductFilterResultDTO;
+import com.example.productmanagement.dto.ProductPageDTO;
+import com.example.productmanagement.dto.SuggestionDTO;
+import com.example.productmanagement.event.ProductChangedEvent;
 import com.example.productmanagement.exception.ResourceNotFoundException;
+import com.example.productmanagement.mapper.ProductMapper;
 import com.example.productmanagement.model.Product;
 import com.example.productmanagement.repository.CartItemRepository;
 import com.example.productmanagement.repository.OrderItemRepository;
 import com.example.productmanagement.repository.ProductRepository;
+import com.example.productmanagement.search.ProductAttributeIndex;
+import com.example.productmanagement.search.ProductFacetIndex;
+import com.example.productmanagement.search.ProductSearchIndex;
+import com.example.productmanagement.search.ProductSimilarityIndex;
+import com.example.productmanagement.search.ProductSuggester;
 
 
 @Service
 public class ProductService {
 
-    @Value("${app.base-url}")
-    private String baseUrl;
+    @Value("${app.product.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.product.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${app.product.batch.max-size:100}")
+    private int maxBatchSize;
 
     @Autowired
     private ProductRepository productRepository;
@@ -36,7 +65,37 @@ public class ProductService {
     private OrderItemRepository orderItemRepository;
     
     @Autowired
-    private ModelMapper modelMapper;
+    private ProductMapper productMapper;
+
+    @Autowired
+    private ProductCatalogCache productCatalogCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+
+    @Autowired
+    private ProductSuggester productSuggester;
+
+    @Autowired
+    private ProductAttributeIndex productAttributeIndex;
+
+    @Autowired
+    private ProductSimilarityIndex productSimilarityIndex;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ImageProcessingQueue imageProcessingQueue;
+
+    @Autowired
+    private UploadGarbageCollector uploadGarbageCollector;
 
     public List<Product> getAllProducts() {
         return productRepository.findAll();
@@ -48,19 +107,85 @@ public class ProductService {
     }
 
     public ProductDTO getProductByIdDTO(Integer id) {
-        Product product = getProductById(id);
-        
-        // Use ModelMapper to convert Product to ProductDTO
-        ProductDTO dto = modelMapper.map(product, ProductDTO.class);
-        
-        // Set imageUrl if imagePath exists
-        if (product.getImagePath() != null && !product.getImagePath().isEmpty()) {
-            String imageUrl = baseUrl + "/" + product.getImagePath();
-            dto.setImageUrl(imageUrl);
-            dto.setImagePath(product.getImagePath());
+        return productCatalogCache.getById(id, this::loadProductDTO);
+    }
+
+    /**
+     * Several products in one call: cached ones from the cache, the rest with one findAllById.
+     * Items follow the request order (repeated ids are returned once).
+     */
+    public ProductBatchDTO getProductsByIds(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one id is required");
         }
-        
-        return dto;
+        Set<Integer> requested = new LinkedHashSet<>();
+        for (Integer id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("Ids must not be null");
+            }
+            requested.add(id);
+        }
+        if (requested.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " ids per batch");
+        }
+
+        Map<Integer, ProductDTO> found = productCatalogCache.getByIds(requested, this::loadProductDTOs);
+        ProductBatchDTO result = new ProductBatchDTO();
+        for (Integer id : requested) {
+            ProductDTO dto = found.get(id);
+            if (dto != null) {
+                result.getItems().add(dto);
+            } else {
+                result.getMissingIds().add(id);
+            }
+        }
+        return result;
+    }
+
+    private Map<Integer, ProductDTO> loadProductDTOs(Set<Integer> ids) {
+        Map<Integer, ProductDTO> loaded = new HashMap<>();
+        for (Product product : productRepository.findAllById(ids)) {
+            loaded.put(product.getId(), productMapper.toDto(product));
+        }
+        return loaded;
+    }
+
+    /**
+     * The first limit products of an index bitset, in id order. Ids are resolved a page at
+     * a time through the cache; ones deleted after the index was read are skipped and
+     * topped up from the following bits.
+     */
+    private List<ProductDTO> productsOf(BitSet ids, int limit) {
+        List<ProductDTO> items = new ArrayList<>(Math.min(limit, ids.cardinality()));
+        int next = ids.nextSetBit(0);
+        while (next >= 0 && items.size() < limit) {
+            List<Integer> batch = new ArrayList<>(limit - items.size());
+            for (; next >= 0 && batch.size() < limit - items.size(); next = ids.nextSetBit(next + 1)) {
+                batch.add(next);
+            }
+            items.addAll(productsInOrder(batch));
+        }
+        return items;
+    }
+
+    // One cache lookup (and at most one findAllById) for the ids; missing ones are left out
+    private List<ProductDTO> productsInOrder(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Integer, ProductDTO> found = productCatalogCache.getByIds(ids, this::loadProductDTOs);
+        List<ProductDTO> items = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            ProductDTO dto = found.get(id);
+            if (dto != null) {
+                items.add(dto);
+            }
+        }
+        return items;
+    }
+
+    private ProductDTO loadProductDTO(Integer id) {
+        return productMapper.toDto(getProductById(id));
     }
 
     public List<Product> getProductsByCategory(String category) {
@@ -68,16 +193,11 @@ public class ProductService {
     }
 
     public List<ProductDTO> getProductsByCategoryDTO(String category) {
-        List<Product> products = productRepository.findByCategory(category);
-        return products.stream().map(product -> {
-            ProductDTO dto = modelMapper.map(product, ProductDTO.class);
-            if (product.getImagePath() != null && !product.getImagePath().isEmpty()) {
-                String imageUrl = baseUrl + "/" + product.getImagePath();
-                dto.setImageUrl(imageUrl);
-                dto.setImagePath(product.getImagePath());
-            }
-            return dto;
-        }).collect(Collectors.toList());
+        return productCatalogCache.getByCategory(category, this::loadProductsByCategoryDTO);
+    }
+
+    private List<ProductDTO> loadProductsByCategoryDTO(String category) {
+        return productMapper.toListDtoList(productRepository.findProjectedByCategory(category));
     }
 
     public List<Product> getAvailableProducts() {
@@ -85,33 +205,152 @@ public class ProductService {
     }
 
     public List<ProductDTO> getAvailableProductsDTO() {
-        List<Product> products = productRepository.findByProductAvailable(true);
-        return products.stream().map(product -> {
-            ProductDTO dto = modelMapper.map(product, ProductDTO.class);
-            if (product.getImagePath() != null && !product.getImagePath().isEmpty()) {
-                String imageUrl = baseUrl + "/" + product.getImagePath();
-                dto.setImageUrl(imageUrl);
-                dto.setImagePath(product.getImagePath());
-            }
-            return dto;
-        }).collect(Collectors.toList());
+        return productCatalogCache.getAvailable(this::loadAvailableProductsDTO);
+    }
+
+    private List<ProductDTO> loadAvailableProductsDTO() {
+        return productMapper.toListDtoList(productRepository.findProjectedByProductAvailable(true));
     }
 
     public Product createProduct(Product product) {
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.created(productMapper.copy(saved)));
+        return saved;
+    }
+
+    public Map<String, Object> getCacheStats() {
+        return productCatalogCache.stats();
     }
 
     public List<Product> searchByBrand(String brand) {
         return productRepository.findByBrandContainingIgnoreCase(brand);
     }
 
+    /**
+     * Full-text search over name, brand, category, description and specifications.
+     * Served entirely from the in-memory index.
+     */
+    public List<ProductDTO> searchProducts(String query, Integer limit) {
+        int maxResults = limit != null ? limit : defaultPageSize;
+        if (maxResults < 1 || maxResults > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize);
+        }
+        return productSearchIndex.search(query, maxResults);
+    }
+
+    /**
+     * Typeahead completions for the search box, most popular first
+     */
+    public List<SuggestionDTO> suggest(String prefix, Integer limit) {
+        int maxResults = limit != null ? limit : ProductSuggester.MAX_SUGGESTIONS;
+        if (maxResults < 1 || maxResults > ProductSuggester.MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + ProductSuggester.MAX_SUGGESTIONS);
+        }
+        return productSuggester.suggest(prefix, maxResults);
+    }
+
+    /**
+     * Faceted filtering: matching products plus per-value counts for every facet.
+     * Filters and counts are resolved from the in-memory bitsets; only the returned
+     * page of products is loaded (through the product cache).
+     */
+    public ProductFacetResultDTO getFacets(Map<String, Set<String>> filters, Integer limit) {
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 0 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 0 and " + maxPageSize);
+        }
+
+        BitSet matches = productFacetIndex.match(filters);
+        ProductFacetResultDTO result = new ProductFacetResultDTO();
+        result.setTotal(matches.cardinality());
+        result.setFacets(productFacetIndex.counts(filters));
+
+        result.setItems(productsOf(matches, pageSize));
+        return result;
+    }
+
+    /**
+     * Products most like the given one (price, brand, category, condition, specs), nearest first
+     */
+    public List<ProductDTO> getSimilarProducts(Integer id, Integer k) {
+        int count = k != null ? k : 6;
+        if (count < 1 || count > ProductSimilarityIndex.MAX_NEIGHBOURS) {
+            throw new IllegalArgumentException("k must be between 1 and " + ProductSimilarityIndex.MAX_NEIGHBOURS);
+        }
+        // The product itself goes in the same lookup as its neighbours, for the 404
+        List<Integer> ids = new ArrayList<>(count + 1);
+        ids.add(id);
+        for (int neighbour : productSimilarityIndex.nearest(id, count)) {
+            ids.add(neighbour);
+        }
+        List<ProductDTO> products = productsInOrder(ids);
+        if (products.isEmpty() || !id.equals(products.get(0).getId())) {
+            throw new ResourceNotFoundException("Product not found with id: " + id);
+        }
+        // Neighbours deleted after the index was read are already left out
+        return products.subList(1, products.size());
+    }
+
+    /**
+     * Progress of the derivative job for a product's image; variant URLs serve a
+     * placeholder while it is QUEUED or PROCESSING
+     */
+    public ImageStatusDTO getImageStatus(Integer id) {
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        String imagePath = product.getImagePath();
+        if (imagePath == null || imagePath.isEmpty()) {
+            return new ImageStatusDTO(id, null, "NONE");
+        }
+        return new ImageStatusDTO(id, imagePath, fileStorageService.imageStatus(imagePath).name());
+    }
+
+    public Map<String, Object> getImageQueueStats() {
+        return imageProcessingQueue.stats();
+    }
+
+    public Map<String, Object> collectUnusedUploads() {
+        return uploadGarbageCollector.collect();
+    }
+
+    public Map<String, Object> getUploadCleanupStats() {
+        return uploadGarbageCollector.stats();
+    }
+
+    /**
+     * Filters on attributes parsed from the specifications, e.g. ["ram>=16", "cpu=i7"]
+     */
+    public ProductFilterResultDTO filterProducts(List<String> expressions, Integer limit) {
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 0 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 0 and " + maxPageSize);
+        }
+        if (expressions.isEmpty()) {
+            throw new IllegalArgumentException("At least one filter is required, e.g. ram>=16");
+        }
+
+        List<ProductAttributeIndex.Filter> filters = new ArrayList<>();
+        ProductFilterResultDTO result = new ProductFilterResultDTO();
+        for (String expression : expressions) {
+            ProductAttributeIndex.Filter filter = ProductAttributeIndex.parseFilter(expression);
+            filters.add(filter);
+            result.getFilters().add(filter.attribute() + filter.operator() + filter.value());
+        }
+
+        BitSet matches = productAttributeIndex.match(filters);
+        result.setTotal(matches.cardinality());
+        result.getItems().addAll(productsOf(matches, pageSize));
+        return result;
+    }
+
     public Product updateProduct(Integer id, Product productDetails) {
         Product product = getProductById(id);
+        Product previous = productMapper.copy(product);
 
         product.setName(productDetails.getName());
         product.setDescription(productDetails.getDescription());
         product.setBrand(productDetails.getBrand());
-        product.setPrice(productDetails.getPrice());
+        product.setPrice(requireValidPrice(productDetails.getPrice()));
         product.setCategory(productDetails.getCategory());
         product.setProductAvailable(productDetails.isProductAvailable());
         product.setStockQuantity(productDetails.getStockQuantity());
@@ -120,17 +359,24 @@ public class ProductService {
         product.setCondition(productDetails.getCondition());
         product.setImagePath(productDetails.getImagePath());
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(previous, productMapper.copy(saved)));
+        return saved;
     }
 
     public Product updateProductFromDTO(Integer id, ProductDTO dto) {
         Product existingProduct = getProductById(id);
+        Product previous = productMapper.copy(existingProduct);
         
-        // Use ModelMapper to map DTO to existing Product (ignoring null values)
-        modelMapper.getConfiguration().setSkipNullEnabled(true);
-        modelMapper.map(dto, existingProduct);
+        // Copy only the fields present in the DTO (null values are skipped)
+        if (dto.getPrice() != null) {
+            requireValidPrice(dto.getPrice());
+        }
+        productMapper.applyPatch(dto, existingProduct);
         
-        return productRepository.save(existingProduct);
+        Product saved = productRepository.save(existingProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(previous, productMapper.copy(saved)));
+        return saved;
     }
 
     @Transactional
@@ -157,6 +403,7 @@ public class ProductService {
         
         // Now delete the product
         productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(productMapper.copy(product)));
     }
 
     public Product createProductWithImage(
@@ -172,7 +419,13 @@ public class ProductService {
         product.setDescription(description);
         product.setBrand(brand);
         if (price != null && !price.isEmpty()) {
-            product.setPrice(new BigDecimal(price));
+            BigDecimal parsed;
+            try {
+                parsed = new BigDecimal(price.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Price is not a number: " + price);
+            }
+            product.setPrice(requireValidPrice(parsed));
         }
         product.setCategory(category);
         product.setProductAvailable(productAvailable);
@@ -185,34 +438,134 @@ public class ProductService {
         
         // Handle image file - store to uploads folder
         if (imageFile != null && !imageFile.isEmpty()) {
-            FileStorageService fileStorageService = new FileStorageService();
             String imagePath = fileStorageService.storeFile(imageFile);
             product.setImagePath(imagePath);
         }
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.created(productMapper.copy(saved)));
+        return saved;
     }
 
     // OLD METHOD - DEPRECATED: Use file-based storage instead
     // public Product createProductWithImage(...) { ... }
 
+    /**
+     * Grid listing of every product; specifications are only loaded by /api/product/{id}
+     */
     public List<ProductDTO> getAllProductsWithImage() {
-        List<Product> products = productRepository.findAll();
-        
-        return products.stream().map(product -> {
-            // Use ModelMapper to map Product to ProductDTO
-            ProductDTO dto = modelMapper.map(product, ProductDTO.class);
-            
-            // Set imageUrl if imagePath exists
-            if (product.getImagePath() != null && !product.getImagePath().isEmpty()) {
-                // Convert relative path to full URL
-                String imageUrl = baseUrl + "/" + product.getImagePath();
-                dto.setImageUrl(imageUrl);
-                dto.setImagePath(product.getImagePath());
+        return productMapper.toListDtoList(productRepository.findAllProjectedBy());
+    }
+
+    /**
+     * Keyset-paginated product listing sorted by id, price or name.
+     * The cursor encodes the sort value and id of the last row of the previous page,
+     * so every page is an index range scan instead of an OFFSET over the whole table.
+     */
+    public ProductPageDTO getProductPage(String sort, String direction, Integer size, String cursor) {
+        String sortField = sort != null && !sort.isEmpty() ? sort.toLowerCase() : "id";
+        if (!sortField.equals("id") && !sortField.equals("price") && !sortField.equals("name")) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sort + " (use id, price or name)");
+        }
+        String sortDirection = direction != null && !direction.isEmpty() ? direction.toLowerCase() : "asc";
+        if (!sortDirection.equals("asc") && !sortDirection.equals("desc")) {
+            throw new IllegalArgumentException("Unsupported sort direction: " + direction + " (use asc or desc)");
+        }
+        int pageSize = size != null ? size : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+
+        // Fetch one extra row to find out whether another page exists
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        boolean ascending = sortDirection.equals("asc");
+        List<Product> products;
+
+        if (cursor == null || cursor.isEmpty()) {
+            products = switch (sortField) {
+                case "price" -> ascending
+                        ? productRepository.findFirstPageOrderByPriceAsc(limit)
+                        : productRepository.findFirstPageOrderByPriceDesc(limit);
+                case "name" -> ascending
+                        ? productRepository.findFirstPageOrderByNameAsc(limit)
+                        : productRepository.findFirstPageOrderByNameDesc(limit);
+                default -> ascending
+                        ? productRepository.findFirstPageOrderByIdAsc(limit)
+                        : productRepository.findFirstPageOrderByIdDesc(limit);
+            };
+        } else {
+            String[] parts = decodeCursor(cursor);
+            if (!parts[0].equals(sortField) || !parts[1].equals(sortDirection)) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+            Integer lastId = Integer.valueOf(parts[2]);
+            String lastValue = parts[3];
+            products = switch (sortField) {
+                case "price" -> ascending
+                        ? productRepository.findPageAfterPriceAsc(new BigDecimal(lastValue), lastId, limit)
+                        : productRepository.findPageAfterPriceDesc(new BigDecimal(lastValue), lastId, limit);
+                case "name" -> ascending
+                        ? productRepository.findPageAfterNameAsc(lastValue, lastId, limit)
+                        : productRepository.findPageAfterNameDesc(lastValue, lastId, limit);
+                default -> ascending
+                        ? productRepository.findPageAfterIdAsc(lastId, limit)
+                        : productRepository.findPageAfterIdDesc(lastId, limit);
+            };
+        }
+
+        boolean hasMore = products.size() > pageSize;
+        if (hasMore) {
+            products = products.subList(0, pageSize);
+        }
+
+        ProductPageDTO page = new ProductPageDTO();
+        page.setItems(productMapper.toDtoList(products));
+        page.setSort(sortField);
+        page.setDirection(sortDirection);
+        page.setSize(pageSize);
+        page.setHasMore(hasMore);
+        if (hasMore) {
+            Product last = products.get(products.size() - 1);
+            String lastValue = switch (sortField) {
+                case "price" -> last.getPrice().toPlainString();
+                case "name" -> last.getName();
+                default -> String.valueOf(last.getId());
+            };
+            page.setNextCursor(encodeCursor(sortField, sortDirection, last.getId(), lastValue));
+        }
+        return page;
+    }
+
+    // price is NOT NULL and the keyset pages sort on it, so reject bad values up front
+    // instead of failing at flush
+    private static BigDecimal requireValidPrice(BigDecimal price) {
+        if (price == null) {
+            throw new IllegalArgumentException("Price is required");
+        }
+        if (price.signum() <= 0) {
+            throw new IllegalArgumentException("Price must be greater than 0");
+        }
+        return price;
+    }
+
+    private String encodeCursor(String sortField, String direction, Integer id, String value) {
+        String raw = sortField + "|" + direction + "|" + id + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // The sort value goes last so names containing '|' survive the split
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor");
             }
-            
-            return dto;
-        }).collect(Collectors.toList());
+            Integer.parseInt(parts[2]);
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
 
     /**
@@ -224,12 +577,12 @@ public class ProductService {
             String name, String description, String brand, String price,
             String category, Boolean productAvailable, Integer stockQuantity,
             String specifications, String warranty, String condition,
-            MultipartFile imageFile,
-            FileStorageService fileStorageService) throws IOException {
+            MultipartFile imageFile) throws IOException {
 
         // Get existing product
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        Product previous = productMapper.copy(product);
 
         // Update basic fields if provided
         if (name != null && !name.isEmpty()) {
@@ -242,7 +595,13 @@ public class ProductService {
             product.setBrand(brand);
         }
         if (price != null && !price.isEmpty()) {
-            product.setPrice(new BigDecimal(price));
+            BigDecimal parsed;
+            try {
+                parsed = new BigDecimal(price.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Price is not a number: " + price);
+            }
+            product.setPrice(requireValidPrice(parsed));
         }
         if (category != null && !category.isEmpty()) {
             product.setCategory(category);
@@ -263,23 +622,17 @@ public class ProductService {
             product.setCondition(condition);
         }
 
-        // Handle image update
+        // Handle image update. The old image may be shared with other products or orders;
+        // FileStorageService releases it once this change commits.
         if (imageFile != null && !imageFile.isEmpty()) {
-            // Delete old image if exists
-            if (product.getImagePath() != null && !product.getImagePath().isEmpty()) {
-                try {
-                    fileStorageService.deleteFile(product.getImagePath());
-                } catch (Exception e) {
-                    System.out.println("Could not delete old image: " + e.getMessage());
-                }
-            }
-            
             // Store new image
             String imagePath = fileStorageService.storeFile(imageFile);
             product.setImagePath(imagePath);
         }
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(previous, productMapper.copy(saved)));
+        return saved;
     }
 
 }
@@ -0,0 +1,333 @@
+package com.example.productmanagement.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.productmanagement.repository.OrderItemRepository;
+import com.example.productmanagement.repository.ProductRepository;
+import com.example.productmanagement.storage.StorageBackend;
+import com.example.productmanagement.storage.StoredObject;
+
+/**
+ * Mark-and-sweep of upload storage. Mark streams every image referenced by a product or
+ * order item into a set of 64-bit name hashes; sweep lists the storage backend and deletes
+ * originals and derivatives nobody references, plus stale staging temp files, once they are
+ * older than the grace period (an upload is stored before the product row pointing at it commits).
+ * A hash collision only keeps a file that could have gone, never the other way round.
+ */
+@Service
+public class UploadGarbageCollector {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.upload.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.upload.gc.grace-minutes:60}")
+    private long graceMinutes;
+
+    private final ReentrantLock running = new ReentrantLock();
+
+    private volatile Map<String, Object> lastRun;
+    private volatile Map<String, Object> lastFailure;
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong failedRuns = new AtomicLong();
+    private final AtomicLong totalFilesDeleted = new AtomicLong();
+    private final AtomicLong totalBytesReclaimed = new AtomicLong();
+
+    @Scheduled(cron = "${app.upload.gc.cron:0 30 3 * * *}")
+    public void scheduledCollect() {
+        if (!enabled) {
+            return;
+        }
+        if (running.isLocked()) {
+            System.out.println("Skipping scheduled upload cleanup: a collection is already running");
+            return;
+        }
+        try {
+            collect();
+        } catch (RuntimeException e) {
+            // Already logged and recorded in stats() by collect; the next run tries again
+        }
+    }
+
+    /**
+     * Runs one collection and returns its report. Throws IllegalStateException when a
+     * collection is already running; a run that fails is recorded as lastFailure in stats().
+     */
+    public Map<String, Object> collect() {
+        if (!running.tryLock()) {
+            throw new IllegalStateException("Upload cleanup is already running");
+        }
+        try {
+            return runCollection();
+        } catch (RuntimeException e) {
+            Map<String, Object> failure = new LinkedHashMap<>();
+            failure.put("storage", storageBackend.name());
+            failure.put("error", e.getClass().getSimpleName() + ": " + e.getMessage());
+            failure.put("failedAt", Instant.now().toString());
+            failedRuns.incrementAndGet();
+            lastFailure = failure;
+            System.err.println("Upload cleanup failed: " + failure.get("error"));
+            e.printStackTrace();
+            throw e;
+        } finally {
+            running.unlock();
+        }
+    }
+
+    // Callers hold the running lock
+    private Map<String, Object> runCollection() {
+        long start = System.nanoTime();
+        LongHashSet referenced = mark();
+        long markNanos = System.nanoTime() - start;
+        Map<String, Object> report = sweep(referenced);
+        long totalNanos = System.nanoTime() - start;
+
+        report.put("referencedImages", referenced.size());
+        report.put("markMillis", Duration.ofNanos(markNanos).toMillis());
+        report.put("durationMillis", Duration.ofNanos(totalNanos).toMillis());
+        report.put("finishedAt", Instant.now().toString());
+        runs.incrementAndGet();
+        totalFilesDeleted.addAndGet((Long) report.get("filesDeleted"));
+        totalBytesReclaimed.addAndGet((Long) report.get("bytesReclaimed"));
+        lastRun = report;
+        System.out.println("Upload cleanup: deleted " + report.get("filesDeleted") + " of "
+                + report.get("filesScanned") + " files, reclaimed " + report.get("bytesReclaimed")
+                + " bytes in " + report.get("durationMillis") + " ms");
+        return report;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("graceMinutes", graceMinutes);
+        stats.put("running", running.isLocked());
+        stats.put("runs", runs.get());
+        stats.put("totalFilesDeleted", totalFilesDeleted.get());
+        stats.put("totalBytesReclaimed", totalBytesReclaimed.get());
+        stats.put("lastRun", lastRun);
+        stats.put("failedRuns", failedRuns.get());
+        stats.put("lastFailure", lastFailure);
+        return stats;
+    }
+
+    private LongHashSet mark() {
+        LongHashSet referenced = new LongHashSet(1024);
+        transactionTemplate.execute(status -> {
+            try (Stream<String> paths = productRepository.streamImagePaths()) {
+                paths.forEach(path -> referenced.add(key(fileName(path))));
+            }
+            // Order history keeps the full image URL of what was bought
+            try (Stream<String> urls = orderItemRepository.streamProductImageUrls()) {
+                urls.forEach(url -> referenced.add(key(fileName(url))));
+            }
+            return null;
+        });
+        return referenced;
+    }
+
+    private Map<String, Object> sweep(LongHashSet referenced) {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(graceMinutes));
+        long scanned = 0;
+        long deleted = 0;
+        long bytes = 0;
+        long recent = 0;
+        long failures = 0;
+
+        try (Stream<StoredObject> objects = storageBackend.list()) {
+            Iterator<StoredObject> iterator = objects.iterator();
+            while (iterator.hasNext()) {
+                StoredObject object = iterator.next();
+                String key = object.key();
+                String owner = key.indexOf('/') < 0 ? key : ImageDerivativeService.originalOf(key);
+                if (owner == null) {
+                    continue; // Not a layout we manage
+                }
+                scanned++;
+                if (referenced.contains(key(owner)) || fileStorageService.isProcessing(owner)) {
+                    continue;
+                }
+                try {
+                    // A derivative lives as long as a recently stored or reused original
+                    StoredObject ownerObject = owner.equals(key) ? object : storageBackend.stat(owner);
+                    if (object.lastModified().isAfter(cutoff)
+                            || (ownerObject != null && ownerObject.lastModified().isAfter(cutoff))) {
+                        recent++;
+                        continue;
+                    }
+                    storageBackend.delete(key);
+                    deleted++;
+                    bytes += object.size();
+                } catch (IOException e) {
+                    failures++;
+                    System.err.println("Upload cleanup could not process " + key + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            failures++;
+            System.err.println("Upload cleanup could not list " + storageBackend.name() + " storage: " + e.getMessage());
+        }
+
+        // Temp files of uploads and derivatives that never finished
+        Path staging = fileStorageService.stagingRoot();
+        if (Files.isDirectory(staging)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(staging)) {
+                for (Path file : files) {
+                    try {
+                        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                        if (!attributes.isRegularFile()) {
+                            continue;
+                        }
+                        scanned++;
+                        if (isRecent(attributes, cutoff)) {
+                            recent++;
+                        } else if (Files.deleteIfExists(file)) {
+                            deleted++;
+                            bytes += attributes.size();
+                        }
+                    } catch (IOException e) {
+                        failures++;
+                    }
+                }
+            } catch (IOException e) {
+                failures++;
+                System.err.println("Upload cleanup could not read " + staging + ": " + e.getMessage());
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("storage", storageBackend.name());
+        report.put("filesScanned", scanned);
+        report.put("filesDeleted", deleted);
+        report.put("bytesReclaimed", bytes);
+        report.put("skippedRecent", recent);
+        report.put("failures", failures);
+        return report;
+    }
+
+    private static boolean isRecent(BasicFileAttributes attributes, Instant cutoff) {
+        return attributes.lastModifiedTime().toInstant().isAfter(cutoff);
+    }
+
+    // "uploads/abc.jpg" and "http://host/uploads/abc.jpg" -> "abc.jpg"
+    private static String fileName(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    // 64-bit FNV-1a of the file name
+    static long key(String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Open-addressing set of longs: 8 bytes per slot instead of a String plus a HashMap
+     * node per referenced image.
+     */
+    static final class LongHashSet {
+        // 0 marks an empty slot; a real 0 key is stored as this instead
+        private static final long ZERO_KEY = 1L;
+
+        private long[] table;
+        private int size;
+
+        LongHashSet(int expected) {
+            table = new long[Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) << 1];
+        }
+
+        void add(long key) {
+            if (key == 0) {
+                key = ZERO_KEY;
+            }
+            // Keep the load factor at or below one half
+            if ((size + 1) * 2 > table.length) {
+                resize();
+            }
+            if (insert(table, key)) {
+                size++;
+            }
+        }
+
+        boolean contains(long key) {
+            if (key == 0) {
+                key = ZERO_KEY;
+            }
+            int mask = table.length - 1;
+            for (int i = mix(key) & mask; table[i] != 0; i = (i + 1) & mask) {
+                if (table[i] == key) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void resize() {
+            long[] grown = new long[table.length * 2];
+            for (long key : table) {
+                if (key != 0) {
+                    insert(grown, key);
+                }
+            }
+            table = grown;
+        }
+
+        private static boolean insert(long[] table, long key) {
+            int mask = table.length - 1;
+            int i = mix(key) & mask;
+            while (table[i] != 0) {
+                if (table[i] == key) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            table[i] = key;
+            return true;
+        }
+
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.productmanagement.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Uploads on the local filesystem, sharded by two levels of two hex characters:
+ * "3f2a...c9.jpg" is stored as uploads/3f/2a/3f2a...c9.jpg and its card derivative as
+ * uploads/variants/card/3f/2a/3f2a...c9.jpg.jpg, so no directory grows past a few hundred
+ * entries. Content-addressed names shard on their own digest, anything else on a hash of
+ * the name. Files still in the old flat layout are found too until they are migrated.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local", matchIfMissing = true)
+public class LocalStorageBackend implements StorageBackend {
+
+    // Same name as ImageDerivativeService.VARIANTS_DIR; variants keep their size directory
+    private static final String VARIANTS_DIR = "variants";
+
+    private static final Pattern HEX_PREFIX = Pattern.compile("[0-9a-f]{4}.*");
+
+    private final Path root;
+
+    public LocalStorageBackend(@Value("${app.storage.local.root:uploads}") String root) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        Files.createDirectories(this.root);
+    }
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        Path target = shardedPath(key);
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Staging directory on another filesystem: copy next to the target, then rename
+            Path temp = Files.createTempFile(target.getParent(), ".put-", ".tmp");
+            try {
+                Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                Files.deleteIfExists(source);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        // Drop a copy left in the old flat layout, so the two can't diverge
+        Path legacy = legacyPath(key);
+        if (!legacy.equals(target)) {
+            Files.deleteIfExists(legacy);
+        }
+    }
+
+    @Override
+    public StoredObject stat(String key) throws IOException {
+        Path file = locate(key);
+        if (file == null) {
+            return null;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new StoredObject(key, attributes.size(), attributes.lastModifiedTime().toInstant(), file);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public InputStream open(String key, long start, long end) throws IOException {
+        Path file = locate(key);
+        if (file == null) {
+            throw new NoSuchFileException(key);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        channel.position(start);
+        return new BoundedInputStream(Channels.newInputStream(channel), end - start + 1);
+    }
+
+    @Override
+    public void touch(String key) throws IOException {
+        Path file = locate(key);
+        if (file != null) {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(shardedPath(key));
+        Files.deleteIfExists(legacyPath(key));
+    }
+
+    @Override
+    public Stream<StoredObject> list() throws IOException {
+        return Files.walk(root)
+                .map(this::toObject)
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * Path of key in the sharded layout
+     */
+    public Path shardedPath(String key) {
+        int slash = key.lastIndexOf('/');
+        String directory = slash >= 0 ? key.substring(0, slash + 1) : "";
+        String name = key.substring(slash + 1);
+        String shard = shard(name);
+        return resolve(directory + shard.substring(0, 2) + "/" + shard.substring(2, 4) + "/" + name);
+    }
+
+    /**
+     * Path of key in the flat layout used before sharding
+     */
+    public Path legacyPath(String key) {
+        return resolve(key);
+    }
+
+    public Path root() {
+        return root;
+    }
+
+    private Path locate(String key) {
+        Path sharded = shardedPath(key);
+        if (Files.isRegularFile(sharded)) {
+            return sharded;
+        }
+        Path legacy = legacyPath(key);
+        return Files.isRegularFile(legacy) ? legacy : null;
+    }
+
+    private Path resolve(String relative) {
+        Path file = root.resolve(relative).normalize();
+        if (!file.startsWith(root) || file.equals(root)) {
+            throw new IllegalArgumentException("Invalid storage key: " + relative);
+        }
+        return file;
+    }
+
+    // Maps a file found by list() back to its key; null for directories, temp files and
+    // files outside the sharded and flat layouts
+    private StoredObject toObject(Path file) {
+        Path relative = root.relativize(file);
+        String name = file.getFileName().toString();
+        if (name.startsWith(".") || !Files.isRegularFile(file)) {
+            return null;
+        }
+        int depth = relative.getNameCount();
+        boolean variant = relative.getName(0).toString().equals(VARIANTS_DIR);
+        // Flat layout: "abc.jpg", "variants/card/abc.jpg.jpg"
+        boolean flat = depth == 1 || (depth == 3 && variant);
+        String key;
+        if (flat) {
+            key = relative.toString().replace('\\', '/');
+        } else if (depth == 3) {
+            key = name; // "ab/cd/abc.jpg"
+        } else if (depth == 5 && variant) {
+            key = relative.subpath(0, 2).toString().replace('\\', '/') + "/" + name; // "variants/card/ab/cd/abc.jpg.jpg"
+        } else {
+            return null;
+        }
+        if (!flat && !file.equals(shardedPath(key))) {
+            return null;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new StoredObject(key, attributes.size(), attributes.lastModifiedTime().toInstant(), file);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String shard(String name) {
+        if (HEX_PREFIX.matcher(name).matches()) {
+            return name.substring(0, 4);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(name.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 2);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Stops after limit bytes of a ranged read
+    private static final class BoundedInputStream extends InputStream {
+        private final InputStream in;
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long limit) {
+            this.in = in;
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.productmanagement.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.checksums.RequestChecksumCalculation;
+import software.amazon.awssdk.core.checksums.ResponseChecksumValidation;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Uploads in an S3-compatible bucket, as objects named prefix + key. Set
+ * app.storage.s3.endpoint to use MinIO, LocalStack or another stand-in instead of AWS;
+ * path-style addressing is used then. Credentials come from app.storage.s3.access-key /
+ * secret-key when set, otherwise from the default AWS provider chain.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "s3")
+public class S3StorageBackend implements StorageBackend, DisposableBean {
+
+    private final S3Client s3;
+    private final String bucket;
+    private final String prefix;
+
+    public S3StorageBackend(
+            @Value("${app.storage.s3.bucket}") String bucket,
+            @Value("${app.storage.s3.prefix:uploads/}") String prefix,
+            @Value("${app.storage.s3.region:us-east-1}") String region,
+            @Value("${app.storage.s3.endpoint:}") String endpoint,
+            @Value("${app.storage.s3.access-key:}") String accessKey,
+            @Value("${app.storage.s3.secret-key:}") String secretKey) {
+        S3ClientBuilder builder = S3Client.builder().region(Region.of(region));
+        if (!endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true)
+                    // Many stand-ins reject the SDK's default streaming checksums
+                    .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
+                    .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED);
+        }
+        if (!accessKey.isEmpty()) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)));
+        } else {
+            builder.credentialsProvider(DefaultCredentialsProvider.builder().build());
+        }
+        this.s3 = builder.build();
+        this.bucket = bucket;
+        this.prefix = prefix;
+    }
+
+    @Override
+    public String name() {
+        return "s3";
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        try {
+            s3.putObject(request -> request.bucket(bucket).key(prefix + key).contentType(contentType),
+                    RequestBody.fromFile(source));
+        } catch (SdkException e) {
+            throw new IOException("Failed to store " + key + " in S3", e);
+        }
+        Files.deleteIfExists(source);
+    }
+
+    @Override
+    public StoredObject stat(String key) throws IOException {
+        HeadObjectResponse head = head(key);
+        return head != null ? new StoredObject(key, head.contentLength(), head.lastModified(), null) : null;
+    }
+
+    @Override
+    public InputStream open(String key, long start, long end) throws IOException {
+        try {
+            return s3.getObject(request -> request.bucket(bucket).key(prefix + key).range("bytes=" + start + "-" + end));
+        } catch (SdkException e) {
+            throw new IOException("Failed to read " + key + " from S3", e);
+        }
+    }
+
+    @Override
+    public void touch(String key) throws IOException {
+        HeadObjectResponse head = head(key);
+        if (head == null) {
+            return;
+        }
+        // Objects are immutable; copying one onto itself is how S3 updates LastModified
+        try {
+            s3.copyObject(request -> request
+                    .sourceBucket(bucket).sourceKey(prefix + key)
+                    .destinationBucket(bucket).destinationKey(prefix + key)
+                    .metadataDirective(MetadataDirective.REPLACE)
+                    .contentType(head.contentType()));
+        } catch (SdkException e) {
+            throw new IOException("Failed to touch " + key + " in S3", e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            s3.deleteObject(request -> request.bucket(bucket).key(prefix + key));
+        } catch (SdkException e) {
+            throw new IOException("Failed to delete " + key + " from S3", e);
+        }
+    }
+
+    @Override
+    public Stream<StoredObject> list() throws IOException {
+        Iterator<S3Object> pages;
+        try {
+            // Fetches the first page; the rest are fetched while the stream is consumed
+            pages = s3.listObjectsV2Paginator(request -> request.bucket(bucket).prefix(prefix)).contents().iterator();
+        } catch (SdkException e) {
+            throw new IOException("Failed to list S3 bucket " + bucket, e);
+        }
+        Iterator<StoredObject> objects = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return pages.hasNext();
+                } catch (SdkException e) {
+                    throw listFailed(e);
+                }
+            }
+
+            @Override
+            public StoredObject next() {
+                S3Object object;
+                try {
+                    object = pages.next();
+                } catch (SdkException e) {
+                    throw listFailed(e);
+                }
+                return new StoredObject(object.key().substring(prefix.length()), object.size(),
+                        object.lastModified(), null);
+            }
+        };
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(objects, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public void destroy() {
+        s3.close();
+    }
+
+    private UncheckedIOException listFailed(SdkException e) {
+        return new UncheckedIOException(new IOException("Failed to list S3 bucket " + bucket, e));
+    }
+
+    private HeadObjectResponse head(String key) throws IOException {
+        try {
+            return s3.headObject(request -> request.bucket(bucket).key(prefix + key));
+        } catch (NoSuchKeyException e) {
+            return null;
+        } catch (S3Exception e) {
+            // HEAD responses have no body, so a missing key may only show up as a 404
+            if (e.statusCode() == 404) {
+                return null;
+            }
+            throw new IOException("Failed to read " + key + " from S3", e);
+        } catch (SdkException e) {
+            throw new IOException("Failed to read " + key + " from S3", e);
+        }
+    }
+}
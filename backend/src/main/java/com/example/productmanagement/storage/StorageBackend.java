@@ -0,0 +1,50 @@
+package com.example.productmanagement.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Where uploaded images and their derivatives live. Keys are the paths below /uploads/
+ * ("3f2a...c9.jpg", "variants/card/3f2a...c9.jpg.jpg"); how they are laid out is up to
+ * the backend, so database paths and URLs don't change with it.
+ * Selected with app.storage.backend (local or s3).
+ */
+public interface StorageBackend {
+
+    String name();
+
+    /**
+     * Stores source under key, replacing any existing object. Takes ownership of source:
+     * it is moved or deleted once stored.
+     */
+    void put(String key, Path source, String contentType) throws IOException;
+
+    /**
+     * Size and modification time of the object, or null when it doesn't exist
+     */
+    StoredObject stat(String key) throws IOException;
+
+    default boolean exists(String key) throws IOException {
+        return stat(key) != null;
+    }
+
+    /**
+     * Bytes start..end (inclusive) of the object
+     */
+    InputStream open(String key, long start, long end) throws IOException;
+
+    /**
+     * Marks the object as recently used (sets its modification time to now)
+     */
+    void touch(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /**
+     * Every stored object. The stream must be closed. Failures while it is consumed are
+     * thrown as UncheckedIOException, as with Files.walk.
+     */
+    Stream<StoredObject> list() throws IOException;
+}
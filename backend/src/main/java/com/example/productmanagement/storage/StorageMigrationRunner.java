@@ -0,0 +1,90 @@
+package com.example.productmanagement.storage;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-shot move of uploads in the old flat layout (uploads/abc.jpg,
+ * uploads/variants/card/abc.jpg.jpg) into the configured storage backend: into shard
+ * directories for local storage, into the bucket for S3. Keys stay the same, so product
+ * image paths need no update. Runs at startup when app.storage.migrate.enabled=true;
+ * files are removed from the flat layout once stored, so running it again is harmless.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.migrate.enabled", havingValue = "true")
+public class StorageMigrationRunner implements ApplicationRunner {
+
+    private static final String VARIANTS_DIR = "variants";
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Value("${app.storage.migrate.source-dir:uploads}")
+    private String sourceDir;
+
+    private long files;
+    private long bytes;
+    private long failures;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path source = Paths.get(sourceDir).toAbsolutePath().normalize();
+        if (!Files.isDirectory(source)) {
+            System.out.println("Storage migration: " + source + " does not exist, nothing to migrate");
+            return;
+        }
+        long start = System.nanoTime();
+        files = 0;
+        bytes = 0;
+        failures = 0;
+
+        // Originals sit directly in the source directory; shard directories are skipped
+        migrateDirectory(source, "");
+        Path variants = source.resolve(VARIANTS_DIR);
+        if (Files.isDirectory(variants)) {
+            try (DirectoryStream<Path> sizes = Files.newDirectoryStream(variants, Files::isDirectory)) {
+                for (Path size : sizes) {
+                    migrateDirectory(size, VARIANTS_DIR + "/" + size.getFileName() + "/");
+                }
+            }
+        }
+
+        System.out.println("Storage migration to " + storageBackend.name() + ": moved " + files + " files ("
+                + bytes + " bytes) in " + (System.nanoTime() - start) / 1_000_000 + " ms, " + failures + " failures");
+    }
+
+    private void migrateDirectory(Path directory, String keyPrefix) throws IOException {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, Files::isRegularFile)) {
+            for (Path file : entries) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(".")) {
+                    continue; // Temp files
+                }
+                String key = keyPrefix + name;
+                try {
+                    long size = Files.size(file);
+                    String contentType = MediaTypeFactory.getMediaType(name)
+                            .map(Object::toString)
+                            .orElse("application/octet-stream");
+                    storageBackend.put(key, file, contentType);
+                    files++;
+                    bytes += size;
+                } catch (IOException | RuntimeException e) {
+                    failures++;
+                    System.err.println("Storage migration failed for " + key + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.productmanagement.storage;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * An object in upload storage. localFile is set when the backend keeps the bytes on this
+ * machine, so they can be served with sendfile; otherwise they have to be streamed.
+ */
+public record StoredObject(String key, long size, Instant lastModified, Path localFile) {
+}
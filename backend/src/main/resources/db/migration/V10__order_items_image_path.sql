@@ -0,0 +1,17 @@
+-- FileStorageService.releaseFile asks whether order history still references an image.
+-- Matching the end of product_image_url needs LIKE '%...', a full scan of order_items;
+-- the stored image path is compared with equality on its own index instead.
+ALTER TABLE order_items ADD COLUMN product_image_path VARCHAR(255);
+
+-- Rows whose URL ends with the product's current image path
+UPDATE order_items oi JOIN products p ON p.id = oi.product_id
+SET oi.product_image_path = p.image_path
+WHERE p.image_path IS NOT NULL AND p.image_path <> ''
+  AND oi.product_image_url LIKE CONCAT('%/', p.image_path);
+
+-- The rest (image replaced since): the URL is "<base-url>/uploads/<name>"
+UPDATE order_items
+SET product_image_path = SUBSTRING(product_image_url, LOCATE('/uploads/', product_image_url) + 1)
+WHERE product_image_path IS NULL AND LOCATE('/uploads/', product_image_url) > 0;
+
+CREATE INDEX idx_order_items_product_image_path ON order_items (product_image_path);
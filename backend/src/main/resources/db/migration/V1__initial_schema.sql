@@ -0,0 +1,119 @@
+-- Schema as previously generated by hibernate ddl-auto=update.
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    role ENUM('USER', 'ADMIN') NOT NULL,
+    active BIT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS id_sequences (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS products (
+    id INT NOT NULL,
+    name VARCHAR(100),
+    description VARCHAR(500),
+    brand VARCHAR(255),
+    price DECIMAL(38, 2) NOT NULL,
+    category VARCHAR(255),
+    product_available BIT NOT NULL,
+    stock_quantity INT,
+    specifications TEXT,
+    warranty VARCHAR(500),
+    `condition` VARCHAR(100),
+    image_path VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS carts (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT,
+    session_id VARCHAR(255),
+    total_amount DECIMAL(38, 2),
+    total_items INT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_carts_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS cart_items (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    cart_id BIGINT NOT NULL,
+    product_id INT NOT NULL,
+    quantity INT NOT NULL,
+    unit_price DECIMAL(38, 2) NOT NULL,
+    subtotal DECIMAL(38, 2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_cart_items_cart FOREIGN KEY (cart_id) REFERENCES carts (id),
+    CONSTRAINT fk_cart_items_product FOREIGN KEY (product_id) REFERENCES products (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS orders (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    order_number VARCHAR(255) NOT NULL,
+    user_id BIGINT,
+    session_id VARCHAR(255),
+    subtotal DECIMAL(38, 2) NOT NULL,
+    shipping_cost DECIMAL(38, 2) NOT NULL,
+    total_amount DECIMAL(38, 2) NOT NULL,
+    status ENUM('PENDING', 'PROCESSING', 'SHIPPED', 'DELIVERED', 'CANCELLED') NOT NULL,
+    payment_method ENUM('CARD', 'COD') NOT NULL,
+    shipping_full_name VARCHAR(255) NOT NULL,
+    shipping_email VARCHAR(255) NOT NULL,
+    shipping_phone VARCHAR(255) NOT NULL,
+    shipping_address TEXT NOT NULL,
+    shipping_city VARCHAR(255) NOT NULL,
+    shipping_postal_code VARCHAR(255) NOT NULL,
+    shipping_country VARCHAR(255) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    shipped_at DATETIME(6),
+    delivered_at DATETIME(6),
+    notes TEXT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_orders_order_number UNIQUE (order_number),
+    CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    order_id BIGINT NOT NULL,
+    product_id INT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    quantity INT NOT NULL,
+    price_at_purchase DECIMAL(38, 2) NOT NULL,
+    subtotal DECIMAL(38, 2) NOT NULL,
+    shipping_cost DECIMAL(38, 2) NOT NULL,
+    product_image_url TEXT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id),
+    CONSTRAINT fk_order_items_product FOREIGN KEY (product_id) REFERENCES products (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS hero_images (
+    id INT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255),
+    description VARCHAR(255),
+    button_text VARCHAR(255),
+    button_link VARCHAR(255),
+    image_name VARCHAR(255),
+    image_type VARCHAR(255),
+    image_data LONGBLOB,
+    active BIT,
+    display_order INT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    created_by VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,11 @@
+-- Databases baselined at V1 may predate the pooled product id generator.
+CREATE TABLE IF NOT EXISTS id_sequences (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB;
+
+-- Start past existing IDENTITY ids plus one allocation block (allocationSize = 50)
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'products', COALESCE(MAX(id), 0) + 51 FROM products
+WHERE NOT EXISTS (SELECT 1 FROM id_sequences WHERE sequence_name = 'products');
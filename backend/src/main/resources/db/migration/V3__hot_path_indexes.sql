@@ -0,0 +1,30 @@
+-- One index per repository finder. Trailing columns match the ORDER BY (or the
+-- primary key used as keyset tie-breaker) so the sort is read straight off the index.
+
+-- ProductRepository: findByCategory / findProjectedByCategory
+CREATE INDEX idx_products_category ON products (category, id);
+-- ProductRepository: findByProductAvailable / findProjectedByProductAvailable
+CREATE INDEX idx_products_available ON products (product_available, id);
+-- ProductRepository: findByBrand
+CREATE INDEX idx_products_brand ON products (brand);
+-- ProductRepository: keyset pages sorted by price / name
+CREATE INDEX idx_products_price_id ON products (price, id);
+CREATE INDEX idx_products_name_id ON products (name, id);
+
+-- CartRepository: findBySessionId (findByUserId uses the user_id foreign key index)
+CREATE INDEX idx_carts_session_id ON carts (session_id);
+
+-- CartItemRepository: findByCartIdAndProductId, findByCartId (leading column)
+CREATE INDEX idx_cart_items_cart_product ON cart_items (cart_id, product_id);
+
+-- OrderRepository: findByStatusOrderByCreatedAtDesc
+CREATE INDEX idx_orders_status_created ON orders (status, created_at);
+-- OrderRepository: findByUserOrderByCreatedAtDesc
+CREATE INDEX idx_orders_user_created ON orders (user_id, created_at);
+-- OrderRepository: findBySessionIdOrderByCreatedAtDesc
+CREATE INDEX idx_orders_session_created ON orders (session_id, created_at);
+-- OrderRepository: findAllByOrderByCreatedAtDesc
+CREATE INDEX idx_orders_created ON orders (created_at);
+
+-- HeroImageRepository: findByActiveTrueOrderByDisplayOrderAsc
+CREATE INDEX idx_hero_images_active_order ON hero_images (active, display_order);
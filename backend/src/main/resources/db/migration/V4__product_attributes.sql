@@ -0,0 +1,17 @@
+-- Typed attributes parsed from products.specifications (see SpecificationParser)
+CREATE TABLE product_attributes (
+    product_id INT NOT NULL,
+    ram_gb INT,
+    storage_gb INT,
+    cpu_family VARCHAR(50),
+    screen_inches DOUBLE,
+    gpu VARCHAR(50),
+    PRIMARY KEY (product_id),
+    CONSTRAINT fk_product_attributes_product FOREIGN KEY (product_id) REFERENCES products (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_product_attributes_ram ON product_attributes (ram_gb);
+CREATE INDEX idx_product_attributes_storage ON product_attributes (storage_gb);
+CREATE INDEX idx_product_attributes_cpu ON product_attributes (cpu_family);
+CREATE INDEX idx_product_attributes_screen ON product_attributes (screen_inches);
+CREATE INDEX idx_product_attributes_gpu ON product_attributes (gpu);
@@ -0,0 +1,2 @@
+-- FileStorageService: reference count of a content-addressed image (countByImagePath)
+CREATE INDEX idx_products_image_path ON products (image_path);
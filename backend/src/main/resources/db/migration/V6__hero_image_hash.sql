@@ -0,0 +1,2 @@
+-- SHA-256 of the hero image bytes; versions /api/hero/{id}/image URLs so they can be cached as immutable
+ALTER TABLE hero_images ADD COLUMN image_hash VARCHAR(64);
@@ -0,0 +1,13 @@
+-- Hero image bytes move out of hero_images, so listing heroes never reads a blob.
+-- One row per hero with an image; removed together with its hero.
+CREATE TABLE IF NOT EXISTS hero_image_data (
+    hero_id INT NOT NULL,
+    image_data LONGBLOB NOT NULL,
+    PRIMARY KEY (hero_id),
+    CONSTRAINT fk_hero_image_data_hero FOREIGN KEY (hero_id) REFERENCES hero_images (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+INSERT INTO hero_image_data (hero_id, image_data)
+SELECT id, image_data FROM hero_images WHERE image_data IS NOT NULL;
+
+ALTER TABLE hero_images DROP COLUMN image_data;
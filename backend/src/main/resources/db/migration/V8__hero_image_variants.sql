@@ -0,0 +1,9 @@
+-- Recompressed hero images at fixed widths (640/1280/1920) for srcset; removed with their hero.
+-- Heroes uploaded earlier have none and are served from hero_image_data.
+CREATE TABLE IF NOT EXISTS hero_image_variants (
+    hero_id INT NOT NULL,
+    width INT NOT NULL,
+    image_data LONGBLOB NOT NULL,
+    PRIMARY KEY (hero_id, width),
+    CONSTRAINT fk_hero_image_variants_hero FOREIGN KEY (hero_id) REFERENCES hero_images (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
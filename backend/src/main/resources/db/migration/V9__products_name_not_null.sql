@@ -0,0 +1,4 @@
+-- Keyset pages sort on (name, id) and the cursor carries the last name; a NULL name would
+-- be skipped by the "after" queries and break the cursor. Price is NOT NULL since V1.
+UPDATE products SET name = CONCAT('Product ', id) WHERE name IS NULL;
+ALTER TABLE products MODIFY name VARCHAR(100) NOT NULL;
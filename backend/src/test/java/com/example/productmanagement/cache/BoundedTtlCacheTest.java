@@ -0,0 +1,124 @@
+package com.example.productmanagement.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedTtlCacheTest {
+
+    private final BoundedTtlCache<Integer, String> cache = new BoundedTtlCache<>("test", 3, 10, TimeUnit.MINUTES);
+
+    @Test
+    void loadsOnceThenServesFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals("v1", cache.getOrLoad(1, key -> {
+            loads.incrementAndGet();
+            return "v" + key;
+        }));
+        assertEquals("v1", cache.getOrLoad(1, key -> "reloaded"));
+        assertEquals(1, loads.get());
+
+        Map<String, Object> stats = cache.stats();
+        assertEquals(1L, stats.get("hits"));
+        assertEquals(1L, stats.get("misses"));
+    }
+
+    @Test
+    void nullIsReturnedButNotCached() {
+        assertNull(cache.getOrLoad(1, key -> null));
+        assertEquals(0, cache.size());
+        assertEquals("v1", cache.getOrLoad(1, key -> "v1"));
+    }
+
+    @Test
+    void expiredEntriesAreReloaded() throws InterruptedException {
+        BoundedTtlCache<Integer, String> shortLived = new BoundedTtlCache<>("short", 3, 50, TimeUnit.MILLISECONDS);
+        shortLived.getOrLoad(1, key -> "old");
+        Thread.sleep(100);
+
+        assertNull(shortLived.getIfPresent(1));
+        assertEquals("new", shortLived.getOrLoad(1, key -> "new"));
+        assertEquals(1L, shortLived.stats().get("expirations"));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        cache.getOrLoad(1, key -> "a");
+        cache.getOrLoad(2, key -> "b");
+        cache.getOrLoad(3, key -> "c");
+        // Reading 1 makes 2 the eldest
+        cache.getIfPresent(1);
+        cache.getOrLoad(4, key -> "d");
+
+        assertEquals(3, cache.size());
+        assertNull(cache.getIfPresent(2));
+        assertEquals("a", cache.getIfPresent(1));
+        assertEquals("c", cache.getIfPresent(3));
+        assertEquals("d", cache.getIfPresent(4));
+        assertEquals(1L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    void loadThatRacedAnInvalidationIsNotCached() {
+        // The entity changes while the old row is being read
+        String value = cache.getOrLoad(1, key -> {
+            cache.invalidate(1);
+            return "stale";
+        });
+
+        assertEquals("stale", value);
+        assertNull(cache.getIfPresent(1));
+        assertEquals("fresh", cache.getOrLoad(1, key -> "fresh"));
+    }
+
+    @Test
+    void batchLoadThatRacedAnInvalidationIsNotCached() {
+        Map<Integer, String> values = cache.getAllOrLoad(List.of(1, 2), keys -> {
+            cache.invalidateAll();
+            Map<Integer, String> loaded = new HashMap<>();
+            keys.forEach(key -> loaded.put(key, "stale" + key));
+            return loaded;
+        });
+
+        assertEquals(Map.of(1, "stale1", 2, "stale2"), values);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void batchLoadsOnlyTheMisses() {
+        cache.getOrLoad(2, key -> "cached");
+        Map<Integer, String> values = cache.getAllOrLoad(List.of(1, 2, 3, 1), keys -> {
+            assertEquals(Set.of(1, 3), keys);
+            // 3 does not exist
+            return Map.of(1, "loaded");
+        });
+
+        assertEquals(Map.of(1, "loaded", 2, "cached"), values);
+        assertEquals("loaded", cache.getIfPresent(1));
+        assertNull(cache.getIfPresent(3));
+    }
+
+    @Test
+    void invalidateAllEmptiesTheCache() {
+        cache.getOrLoad(1, key -> "a");
+        cache.getOrLoad(2, key -> "b");
+        cache.invalidateAll();
+
+        assertEquals(0, cache.size());
+        assertEquals(2L, cache.stats().get("invalidations"));
+    }
+
+    @Test
+    void rejectsNonPositiveMaxSize() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedTtlCache<Integer, String>("bad", 0, 1, TimeUnit.MINUTES));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.productmanagement.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.rowset.serial.SerialBlob;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.productmanagement.model.HeroImage;
+import com.example.productmanagement.model.HeroImageData;
+import com.example.productmanagement.model.HeroImageVariant;
+import com.example.productmanagement.repository.HeroImageDataRepository;
+import com.example.productmanagement.repository.HeroImageRepository;
+import com.example.productmanagement.repository.HeroImageVariantRepository;
+
+class HeroImageControllerTest {
+
+    private static final int HERO = 1;
+    private static final int NO_VARIANTS = 2;
+    private static final String HASH = "a".repeat(64);
+
+    private HeroImageController controller;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        HeroImage hero = new HeroImage();
+        hero.setId(HERO);
+        hero.setImageType("image/png");
+        hero.setImageHash(HASH);
+
+        HeroImageRepository heroImageRepository = mock(HeroImageRepository.class);
+        when(heroImageRepository.findById(HERO)).thenReturn(Optional.of(hero));
+        HeroImageDataRepository heroImageDataRepository = mock(HeroImageDataRepository.class);
+        when(heroImageDataRepository.findById(HERO)).thenReturn(Optional.of(new HeroImageData(HERO, blob("original"))));
+        HeroImageVariantRepository heroImageVariantRepository = mock(HeroImageVariantRepository.class);
+        // Ascending, as the query orders them
+        when(heroImageVariantRepository.findWidthsByHeroId(HERO)).thenReturn(List.of(640, 1280, 1920));
+        when(heroImageVariantRepository.findWidthsByHeroId(NO_VARIANTS)).thenReturn(List.of());
+        when(heroImageVariantRepository.findById(new HeroImageVariant.Key(HERO, 1280)))
+                .thenReturn(Optional.of(new HeroImageVariant(HERO, 1280, blob("w1280"))));
+
+        controller = new HeroImageController();
+        ReflectionTestUtils.setField(controller, "heroImageRepository", heroImageRepository);
+        ReflectionTestUtils.setField(controller, "heroImageDataRepository", heroImageDataRepository);
+        ReflectionTestUtils.setField(controller, "heroImageVariantRepository", heroImageVariantRepository);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @ParameterizedTest(name = "w={0} -> {1}")
+    @CsvSource(nullValues = "original", value = {
+            "1,     640",
+            "640,   640",
+            "641,   1280",
+            "1280,  1280",
+            "1500,  1920",
+            "1920,  1920",
+            // Wider than every variant: only the original is sharp enough
+            "1921,  original",
+            "4000,  original",
+    })
+    void picksNarrowestVariantAtLeastAsWide(int requested, Integer expected) {
+        assertEquals(expected, controller.variantWidth(HERO, requested));
+    }
+
+    @Test
+    void sendsOriginalWhenThereAreNoVariants() {
+        assertNull(controller.variantWidth(NO_VARIANTS, 640));
+    }
+
+    @Test
+    void servesVariantSelectedByWidthParameter() throws Exception {
+        mockMvc.perform(get("/api/hero/{id}/image", HERO).param("v", HASH.substring(0, 16)).param("w", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"hero-1-" + HASH.substring(0, 16) + "-w1280\""))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/jpeg"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, not(hasItem(containsString("Width")))))
+                .andExpect(content().string("w1280"));
+    }
+
+    @Test
+    void ignoresWidthClientHints() throws Exception {
+        // Only ?w= selects a variant, so caches never have to key on the hint headers
+        mockMvc.perform(get("/api/hero/{id}/image", HERO).header("Sec-CH-Width", "600").header("Width", "600"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"hero-1-" + HASH.substring(0, 16) + "\""))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, not(hasItem(containsString("Width")))))
+                .andExpect(content().string("original"));
+    }
+
+    @Test
+    void unknownHeroIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/hero/{id}/image", 99))
+                .andExpect(status().isNotFound());
+    }
+
+    private static SerialBlob blob(String content) throws Exception {
+        return new SerialBlob(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.productmanagement.controller;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.productmanagement.cache.CatalogVersions;
+import com.example.productmanagement.dto.ProductDTO;
+import com.example.productmanagement.dto.ProductPageDTO;
+import com.example.productmanagement.event.ProductChangedEvent;
+import com.example.productmanagement.model.Product;
+import com.example.productmanagement.service.ProductService;
+
+/**
+ * 304s for the catalog reads: answered from CatalogVersions without calling the service
+ */
+class ProductControllerConditionalGetTest {
+
+    private ProductService productService;
+    private CatalogVersions catalogVersions;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        productService = mock(ProductService.class);
+        when(productService.getAllProductsWithImage()).thenReturn(List.of(dto(1), dto(2)));
+        when(productService.getProductByIdDTO(1)).thenReturn(dto(1));
+        when(productService.getProductPage(any(), any(), any(), any())).thenReturn(new ProductPageDTO());
+        catalogVersions = new CatalogVersions();
+
+        ProductController controller = new ProductController();
+        ReflectionTestUtils.setField(controller, "productService", productService);
+        ReflectionTestUtils.setField(controller, "catalogVersions", catalogVersions);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void allAnswersMatchingETagWithNotModified() throws Exception {
+        String etag = etagOf("/api/product/all");
+
+        mockMvc.perform(get("/api/product/all").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        verify(productService, times(1)).getAllProductsWithImage();
+    }
+
+    @Test
+    void allAnswersIfModifiedSinceWithNotModified() throws Exception {
+        String lastModified = mockMvc.perform(get("/api/product/all"))
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/api/product/all").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+        verify(productService, times(1)).getAllProductsWithImage();
+    }
+
+    @Test
+    void anyProductChangeInvalidatesTheCatalogETag() throws Exception {
+        String etag = etagOf("/api/product/all");
+        catalogVersions.onProductChanged(ProductChangedEvent.updated(product(2), product(2)));
+
+        String changed = mockMvc.perform(get("/api/product/all").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    void pageAnswersMatchingETagWithNotModified() throws Exception {
+        String etag = etagOf("/api/product/page?sort=price&size=2");
+
+        mockMvc.perform(get("/api/product/page").param("sort", "price").param("size", "2")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        verify(productService, times(1)).getProductPage(eq("price"), eq("asc"), eq(2), any());
+    }
+
+    @Test
+    void productETagOnlyChangesWithThatProduct() throws Exception {
+        String etag = etagOf("/api/product/1");
+
+        // Another product changed: product 1 is still fresh
+        catalogVersions.onProductChanged(ProductChangedEvent.updated(product(2), product(2)));
+        mockMvc.perform(get("/api/product/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(productService, times(1)).getProductByIdDTO(1);
+
+        catalogVersions.onProductChanged(ProductChangedEvent.updated(product(1), product(1)));
+        mockMvc.perform(get("/api/product/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        verify(productService, times(2)).getProductByIdDTO(1);
+    }
+
+    @Test
+    void staleETagGetsTheBody() throws Exception {
+        mockMvc.perform(get("/api/product/1").header(HttpHeaders.IF_NONE_MATCH, "\"p1-old-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    private String etagOf(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private static ProductDTO dto(int id) {
+        ProductDTO dto = new ProductDTO();
+        dto.setId(id);
+        dto.setName("Laptop " + id);
+        dto.setPrice(new BigDecimal(50000));
+        return dto;
+    }
+
+    private static Product product(int id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Laptop " + id);
+        return product;
+    }
+}
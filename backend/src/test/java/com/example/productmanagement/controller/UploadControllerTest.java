@@ -0,0 +1,211 @@
+package com.example.productmanagement.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.productmanagement.service.FileStorageService;
+import com.example.productmanagement.storage.StoredObject;
+
+class UploadControllerTest {
+
+    private static final String BODY = "0123456789";
+    private static final long LENGTH = BODY.length();
+    private static final String HASHED = "0123456789abcdef".repeat(4) + ".jpg";
+    private static final String LEGACY = "legacy.jpg";
+    private static final Instant MODIFIED = Instant.parse("2024-01-15T10:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("object"), BODY, StandardCharsets.UTF_8);
+        FileStorageService fileStorageService = mock(FileStorageService.class);
+        when(fileStorageService.resolveForServing(anyString())).thenReturn(null);
+        when(fileStorageService.resolveForServing(HASHED)).thenReturn(new StoredObject(HASHED, LENGTH, MODIFIED, file));
+        when(fileStorageService.resolveForServing(LEGACY)).thenReturn(new StoredObject(LEGACY, LENGTH, MODIFIED, file));
+
+        UploadController controller = new UploadController();
+        ReflectionTestUtils.setField(controller, "fileStorageService", fileStorageService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    // parseRange
+
+    @ParameterizedTest(name = "{0} -> {1}-{2}")
+    @CsvSource({
+            "bytes=0-3,      0, 3",
+            "bytes=4-4,      4, 4",
+            "bytes= 2-5 ,    2, 5",
+            // open-ended
+            "bytes=5-,       5, 9",
+            "bytes=0-,       0, 9",
+            // end past the file is clamped
+            "bytes=7-100,    7, 9",
+            // suffix: the last n bytes
+            "bytes=-4,       6, 9",
+            "bytes=-1,       9, 9",
+            "bytes=-100,     0, 9",
+    })
+    void parsesSatisfiableRange(String header, long start, long end) {
+        assertArrayEquals(new long[] { start, end }, UploadController.parseRange(header, LENGTH));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "bytes=10-", "bytes=100-200", "bytes=5-3", "bytes=-0" })
+    void rejectsUnsatisfiableRange(String header) {
+        assertNull(UploadController.parseRange(header, LENGTH));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "bytes=0-1,3-4", "bytes=-2, 0-1", "items=0-1", "bytes=", "bytes=5", "bytes=a-b", "bytes=1-x" })
+    void ignoresMultipleOrMalformedRanges(String header) {
+        long[] bounds = UploadController.parseRange(header, LENGTH);
+        assertArrayEquals(new long[0], bounds, () -> "Expected the header to be ignored, got " + Arrays.toString(bounds));
+    }
+
+    // Serving
+
+    @Test
+    void servesWholeContentAddressedFileAsImmutable() throws Exception {
+        mockMvc.perform(get("/uploads/" + HASHED))
+                .andExpect(status().isOk())
+                .andExpect(content().string(BODY))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + HASHED + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, LENGTH));
+    }
+
+    @Test
+    void servesOtherFilesWithWeakEtagAndShortCache() throws Exception {
+        mockMvc.perform(get("/uploads/" + LEGACY))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG,
+                        "W/\"" + Long.toHexString(LENGTH) + "-" + Long.toHexString(MODIFIED.toEpochMilli()) + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, public"));
+    }
+
+    @Test
+    void missingFileIsNotFound() throws Exception {
+        mockMvc.perform(get("/uploads/missing.jpg"))
+                .andExpect(status().isNotFound());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            "bytes=2-5,  2, 5, 2345",
+            "bytes=6-,   6, 9, 6789",
+            "bytes=-3,   7, 9, 789",
+    })
+    void servesSingleRange(String range, long start, long end, String body) throws Exception {
+        mockMvc.perform(get("/uploads/" + HASHED).header(HttpHeaders.RANGE, range))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + LENGTH))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, body.length()))
+                .andExpect(content().string(body));
+    }
+
+    @Test
+    void unsatisfiableRangeIs416() throws Exception {
+        mockMvc.perform(get("/uploads/" + HASHED).header(HttpHeaders.RANGE, "bytes=20-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + LENGTH));
+    }
+
+    @Test
+    void multipleRangesFallBackToWholeFile() throws Exception {
+        mockMvc.perform(get("/uploads/" + HASHED).header(HttpHeaders.RANGE, "bytes=0-1,4-5"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().string(BODY));
+    }
+
+    @Test
+    void rangeIsHonouredWhenIfRangeMatches() throws Exception {
+        mockMvc.perform(get("/uploads/" + HASHED)
+                        .header(HttpHeaders.RANGE, "bytes=0-1")
+                        .header(HttpHeaders.IF_RANGE, "\"" + HASHED + "\""))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("01"));
+    }
+
+    @Test
+    void staleIfRangeServesWholeFile() throws Exception {
+        mockMvc.perform(get("/uploads/" + HASHED)
+                        .header(HttpHeaders.RANGE, "bytes=0-1")
+                        .header(HttpHeaders.IF_RANGE, "\"something-else\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(BODY));
+    }
+
+    // Conditional GET
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() throws Exception {
+        mockMvc.perform(get("/uploads/" + HASHED).header(HttpHeaders.IF_NONE_MATCH, "\"" + HASHED + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void differentIfNoneMatchServesFile() throws Exception {
+        mockMvc.perform(get("/uploads/" + HASHED).header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(BODY));
+    }
+
+    @Test
+    void ifModifiedSinceLastModificationIsNotModified() throws Exception {
+        mockMvc.perform(get("/uploads/" + LEGACY).header(HttpHeaders.IF_MODIFIED_SINCE, httpDate(MODIFIED)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void ifModifiedSinceBeforeLastModificationServesFile() throws Exception {
+        mockMvc.perform(get("/uploads/" + LEGACY)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, httpDate(MODIFIED.minusSeconds(60))))
+                .andExpect(status().isOk())
+                .andExpect(content().string(BODY));
+    }
+
+    @Test
+    void notModifiedWinsOverRange() throws Exception {
+        mockMvc.perform(get("/uploads/" + HASHED)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + HASHED + "\"")
+                        .header(HttpHeaders.RANGE, "bytes=0-1"))
+                .andExpect(status().isNotModified());
+    }
+
+    private static String httpDate(Instant instant) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(instant.atZone(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.productmanagement.mapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import com.example.productmanagement.model.Product;
+
+/**
+ * Times mapping 10k products with the old reflective ModelMapper setup against the
+ * hand-written ProductMapper (equivalence is checked by ProductMapperTest). Tagged
+ * "benchmark" and excluded from the default build; run with mvn test -Pbenchmark.
+ */
+@Tag("benchmark")
+class ProductMapperBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    @Test
+    void mapsTenThousandRows() {
+        List<Product> products = sampleProducts();
+        ModelMapper modelMapper = ProductMapperTest.legacyModelMapper();
+        ProductMapper productMapper = new ProductMapper(ProductMapperTest.BASE_URL);
+
+        long modelMapperNanos = time(() -> ProductMapperTest.mapWithModelMapper(modelMapper, products));
+        long productMapperNanos = time(() -> productMapper.toDtoList(products));
+
+        System.out.printf("ModelMapper:   %,d ns per 10k rows (%.1f ns/row)%n",
+                modelMapperNanos, (double) modelMapperNanos / ROWS);
+        System.out.printf("ProductMapper: %,d ns per 10k rows (%.1f ns/row)%n",
+                productMapperNanos, (double) productMapperNanos / ROWS);
+    }
+
+    // Median of the measured rounds, after warming up the JIT
+    private static long time(Runnable mapping) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            mapping.run();
+        }
+        long[] samples = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            mapping.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[MEASURED_ROUNDS / 2];
+    }
+
+    private static List<Product> sampleProducts() {
+        List<Product> products = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            products.add(ProductMapperTest.product(i, i % 2 == 0 ? "Dell" : "Lenovo",
+                    i % 4 == 0 ? null : "uploads/" + i + ".jpg"));
+        }
+        return products;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.productmanagement.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+
+import com.example.productmanagement.dto.ProductDTO;
+import com.example.productmanagement.model.Product;
+import com.example.productmanagement.service.ImageDerivativeService;
+
+/**
+ * The hand-written ProductMapper must produce exactly what the old reflective
+ * ModelMapper setup (plus the image URL fix-ups done around it) produced.
+ */
+class ProductMapperTest {
+
+    static final String BASE_URL = "http://localhost:8080";
+
+    private final ModelMapper modelMapper = legacyModelMapper();
+    private final ProductMapper productMapper = new ProductMapper(BASE_URL);
+
+    static Stream<Arguments> products() {
+        return Stream.of(
+                Arguments.of("with image", product(1, "Dell", "uploads/abc.jpg")),
+                Arguments.of("without image", product(2, "Lenovo", null)),
+                Arguments.of("null brand", product(3, null, "uploads/def.png")),
+                Arguments.of("only required fields", sparseProduct()));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("products")
+    void matchesModelMapper(String description, Product product) {
+        assertEquals(mapWithModelMapper(modelMapper, product), productMapper.toDto(product));
+    }
+
+    @Test
+    void productWithoutImageHasNoImageFields() {
+        ProductDTO dto = productMapper.toDto(product(2, "Lenovo", null));
+        assertNull(dto.getImagePath());
+        assertNull(dto.getImageUrl());
+        assertNull(dto.getImageVariants());
+    }
+
+    @Test
+    void imageVariantsPointAtDerivatives() {
+        ProductDTO dto = productMapper.toDto(product(1, "Dell", "uploads/abc.jpg"));
+        assertEquals(BASE_URL + "/uploads/abc.jpg", dto.getImageUrl());
+        assertEquals(BASE_URL + "/uploads/variants/card/abc.jpg.jpg", dto.getImageVariants().get("card"));
+    }
+
+    @Test
+    void patchWithoutAvailabilityKeepsIt() {
+        Product product = product(1, "Dell", "uploads/abc.jpg");
+        ProductDTO patch = new ProductDTO();
+        patch.setPrice(new BigDecimal("99999"));
+
+        productMapper.applyPatch(patch, product);
+        assertTrue(product.isProductAvailable());
+        assertEquals(new BigDecimal("99999"), product.getPrice());
+        // Fields left out of the patch are untouched too
+        assertEquals("Laptop 1", product.getName());
+        assertEquals("uploads/abc.jpg", product.getImagePath());
+    }
+
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource({ "true, false", "false, true" })
+    void patchWithAvailabilitySetsIt(boolean before, boolean after) {
+        Product product = product(1, "Dell", null);
+        product.setProductAvailable(before);
+        ProductDTO patch = new ProductDTO();
+        patch.setProductAvailable(after);
+
+        productMapper.applyPatch(patch, product);
+        assertEquals(after, product.isProductAvailable());
+    }
+
+    static ModelMapper legacyModelMapper() {
+        ModelMapper modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setSkipNullEnabled(true)
+                .setAmbiguityIgnored(true);
+        return modelMapper;
+    }
+
+    // The mapping ProductService did before ProductMapper existed
+    static ProductDTO mapWithModelMapper(ModelMapper modelMapper, Product product) {
+        ProductDTO dto = modelMapper.map(product, ProductDTO.class);
+        if (product.getImagePath() != null && !product.getImagePath().isEmpty()) {
+            dto.setImageUrl(BASE_URL + "/" + product.getImagePath());
+            dto.setImagePath(product.getImagePath());
+            // Derivative URLs were added after ModelMapper was dropped; built the same way here
+            Map<String, String> variants = new LinkedHashMap<>();
+            for (String size : ImageDerivativeService.SIZES.keySet()) {
+                variants.put(size, BASE_URL + "/" + ImageDerivativeService.variantPath(product.getImagePath(), size));
+            }
+            dto.setImageVariants(variants);
+        }
+        return dto;
+    }
+
+    static List<ProductDTO> mapWithModelMapper(ModelMapper modelMapper, List<Product> products) {
+        List<ProductDTO> dtos = new ArrayList<>(products.size());
+        for (Product product : products) {
+            dtos.add(mapWithModelMapper(modelMapper, product));
+        }
+        return dtos;
+    }
+
+    static Product product(int id, String brand, String imagePath) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Laptop " + id);
+        product.setDescription("Sample laptop number " + id);
+        product.setBrand(brand);
+        product.setPrice(BigDecimal.valueOf(100_000 + id));
+        product.setCategory("Business");
+        product.setProductAvailable(id % 3 != 0);
+        product.setStockQuantity(id % 10);
+        product.setSpecifications("16GB RAM, Intel Core i7, 512GB SSD");
+        product.setWarranty("1 year");
+        product.setCondition("NEW");
+        product.setImagePath(imagePath);
+        return product;
+    }
+
+    private static Product sparseProduct() {
+        Product product = new Product();
+        product.setId(4);
+        product.setName("Bare laptop");
+        product.setPrice(BigDecimal.ONE);
+        product.setCategory("Business");
+        return product;
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.productmanagement.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.productmanagement.model.Order;
+import com.example.productmanagement.model.User;
+
+/**
+ * Runs each hot repository finder, captures the SQL and bind values Hibernate actually
+ * sent, and EXPLAINs exactly that statement. Fails if MySQL would answer any of them
+ * with a full table scan or without an index, so a finder that drifts away from its
+ * index (or an index dropped by a migration) is caught here.
+ */
+@SpringBootTest
+class QueryPlanTests {
+
+    private static final PageRequest PAGE = PageRequest.of(0, 20);
+
+    @Autowired
+    private Repositories repositories;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearCaptured() {
+        RecordingDataSource.captured.clear();
+    }
+
+    static Stream<Arguments> finders() {
+        return Stream.of(
+                // ProductRepository
+                finder("findByCategory", r -> r.products.findByCategory("Laptop")),
+                finder("findProjectedByCategory", r -> r.products.findProjectedByCategory("Laptop")),
+                finder("findByProductAvailable", r -> r.products.findByProductAvailable(true)),
+                finder("findProjectedByProductAvailable", r -> r.products.findProjectedByProductAvailable(true)),
+                finder("findByBrand", r -> r.products.findByBrand("Dell")),
+                finder("countByImagePath", r -> r.products.countByImagePath("uploads/abc.jpg")),
+                finder("findPageAfterIdAsc", r -> r.products.findPageAfterIdAsc(100, PAGE)),
+                finder("findPageAfterIdDesc", r -> r.products.findPageAfterIdDesc(100, PAGE)),
+                finder("findFirstPageOrderByPriceAsc", r -> r.products.findFirstPageOrderByPriceAsc(PAGE)),
+                finder("findFirstPageOrderByPriceDesc", r -> r.products.findFirstPageOrderByPriceDesc(PAGE)),
+                finder("findPageAfterPriceAsc", r -> r.products.findPageAfterPriceAsc(new BigDecimal("150000"), 100, PAGE)),
+                finder("findPageAfterPriceDesc", r -> r.products.findPageAfterPriceDesc(new BigDecimal("150000"), 100, PAGE)),
+                finder("findFirstPageOrderByNameAsc", r -> r.products.findFirstPageOrderByNameAsc(PAGE)),
+                finder("findFirstPageOrderByNameDesc", r -> r.products.findFirstPageOrderByNameDesc(PAGE)),
+                finder("findPageAfterNameAsc", r -> r.products.findPageAfterNameAsc("Laptop", 100, PAGE)),
+                finder("findPageAfterNameDesc", r -> r.products.findPageAfterNameDesc("Laptop", 100, PAGE)),
+                // ProductAttributesRepository
+                finder("productAttributes.findById", r -> r.productAttributes.findById(1)),
+                finder("productAttributes.findAllById", r -> r.productAttributes.findAllById(List.of(1, 2, 3))),
+                // HeroImageRepository
+                finder("findByActiveTrueOrderByDisplayOrderAsc", r -> r.heroImages.findByActiveTrueOrderByDisplayOrderAsc()),
+                // CartRepository
+                finder("findBySessionId", r -> r.carts.findBySessionId("guest")),
+                finder("findByUserId", r -> r.carts.findByUserId(1L)),
+                // CartItemRepository
+                finder("findByCartIdAndProductId", r -> r.cartItems.findByCartIdAndProductId(1L, 1)),
+                finder("findByCartId", r -> r.cartItems.findByCartId(1L)),
+                finder("findByProductId", r -> r.cartItems.findByProductId(1)),
+                // OrderRepository
+                finder("findByStatusOrderByCreatedAtDesc", r -> r.orders.findByStatusOrderByCreatedAtDesc(Order.OrderStatus.PENDING)),
+                finder("findByUserOrderByCreatedAtDesc", r -> r.orders.findByUserOrderByCreatedAtDesc(user(1L))),
+                finder("findBySessionIdOrderByCreatedAtDesc", r -> r.orders.findBySessionIdOrderByCreatedAtDesc("guest")),
+                finder("findByOrderNumber", r -> r.orders.findByOrderNumber("ORD-1")),
+                // OrderItemRepository
+                finder("existsByProductImagePath", r -> r.orderItems.existsByProductImagePath("uploads/abc.jpg")),
+                // UserRepository
+                finder("findByUsername", r -> r.users.findByUsername("admin")),
+                finder("findByEmail", r -> r.users.findByEmail("admin@example.com")));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("finders")
+    void finderDoesNotScanWholeTable(String name, Consumer<Repositories> finder) {
+        finder.accept(repositories);
+        List<RecordedQuery> queries = new ArrayList<>(RecordingDataSource.captured);
+        assertFalse(queries.isEmpty(), () -> "No SQL captured for " + name);
+
+        for (RecordedQuery query : queries) {
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + query.sql(),
+                    query.parameters().toArray());
+            for (Map<String, Object> row : plan) {
+                // type is NULL when the optimizer proves no row can match (e.g. empty table)
+                if (row.get("type") == null) {
+                    continue;
+                }
+                assertNotEquals("ALL", row.get("type"), () -> "Full scan for " + name + ": " + query.sql() + " -> " + row);
+                assertNotNull(row.get("key"), () -> "No index used for " + name + ": " + query.sql() + " -> " + row);
+            }
+        }
+    }
+
+    private static Arguments finder(String name, Consumer<Repositories> finder) {
+        return Arguments.of(name, finder);
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    record RecordedQuery(String sql, List<Object> parameters) {
+    }
+
+    /**
+     * The repositories under test, in one bean so the finder table stays static
+     */
+    static class Repositories {
+        @Autowired ProductRepository products;
+        @Autowired ProductAttributesRepository productAttributes;
+        @Autowired HeroImageRepository heroImages;
+        @Autowired CartRepository carts;
+        @Autowired CartItemRepository cartItems;
+        @Autowired OrderRepository orders;
+        @Autowired OrderItemRepository orderItems;
+        @Autowired UserRepository users;
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        Repositories repositories() {
+            return new Repositories();
+        }
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? RecordingDataSource.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * JDBC proxies that record every SELECT executed through a prepared statement,
+     * with its bind values in parameter order
+     */
+    static final class RecordingDataSource {
+        static final List<RecordedQuery> captured = new ArrayList<>();
+
+        // Also AutoCloseable, so the context still closes the pool on shutdown
+        static DataSource wrap(DataSource target) {
+            return proxy(DataSource.class, target, (method, args, result) ->
+                    result instanceof Connection connection ? wrapConnection(connection) : result,
+                    AutoCloseable.class);
+        }
+
+        private static Connection wrapConnection(Connection target) {
+            return proxy(Connection.class, target, (method, args, result) -> {
+                if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                    return wrapStatement(statement, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement wrapStatement(PreparedStatement target, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, target, (method, args, result) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (name.equals("executeQuery") && (args == null || args.length == 0)
+                        && sql.trim().regionMatches(true, 0, "select", 0, 6)) {
+                    synchronized (captured) {
+                        captured.add(new RecordedQuery(sql, new ArrayList<>(parameters.values())));
+                    }
+                }
+                return result;
+            });
+        }
+
+        @FunctionalInterface
+        private interface AfterCall {
+            Object apply(Method method, Object[] args, Object result) throws Exception;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, AfterCall after, Class<?>... extraTypes) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                return after.apply(method, args, result);
+            };
+            List<Class<?>> types = new ArrayList<>(List.of(type));
+            for (Class<?> extra : extraTypes) {
+                if (extra.isInstance(target)) {
+                    types.add(extra);
+                }
+            }
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), types.toArray(new Class<?>[0]), handler);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.productmanagement.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.productmanagement.dto.FacetValueDTO;
+import com.example.productmanagement.event.ProductChangedEvent;
+import com.example.productmanagement.model.Product;
+import com.example.productmanagement.repository.ProductRepository;
+
+class ProductFacetIndexTest {
+
+    private final List<Product> catalog = new ArrayList<>();
+    private ProductFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        catalog.add(product(1, "Dell", "Business", "NEW", 45_000, true));
+        catalog.add(product(2, "Dell", "Gaming", "USED", 120_000, true));
+        catalog.add(product(3, "HP", "Business", "NEW", 75_000, false));
+        catalog.add(product(4, "hp ", "Gaming", "NEW", 350_000, true));
+        catalog.add(product(5, "Lenovo", "Business", "REFURBISHED", 100_000, true));
+
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAll()).thenReturn(catalog);
+        index = new ProductFacetIndex();
+        ReflectionTestUtils.setField(index, "productRepository", productRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void valuesWithinAFacetAreOred() {
+        assertEquals(Set.of(1, 2, 3, 4), ids(index.match(Map.of("brand", Set.of("Dell", "HP")))));
+    }
+
+    @Test
+    void facetsAreAnded() {
+        Map<String, Set<String>> filters = Map.of("brand", Set.of("dell", "hp"), "category", Set.of("Business"));
+        assertEquals(Set.of(1, 3), ids(index.match(filters)));
+    }
+
+    @Test
+    void valuesAreNormalized() {
+        // "HP" and "hp " are the same brand; the label is the first one seen
+        assertEquals(Set.of(3, 4), ids(index.match(Map.of("brand", Set.of(" Hp")))));
+        assertEquals(Map.of("Dell", 2, "HP", 2, "Lenovo", 1), counts(index.counts(Map.of()).get("brand")));
+    }
+
+    @Test
+    void noFiltersOrEmptySelectionsMatchEverything() {
+        assertEquals(Set.of(1, 2, 3, 4, 5), ids(index.match(Map.of())));
+        assertEquals(Set.of(1, 2, 3, 4, 5), ids(index.match(Map.of("brand", Set.of()))));
+        assertTrue(index.match(Map.of("brand", Set.of("Asus"))).isEmpty());
+    }
+
+    @Test
+    void priceBandsHaveExclusiveUpperBoundsAndAreOrderedByPrice() {
+        List<FacetValueDTO> bands = index.counts(Map.of()).get("price");
+        assertEquals(List.of("0-50000", "50000-100000", "100000-200000", "300000+"),
+                bands.stream().map(FacetValueDTO::getValue).toList());
+        // 100,000 falls in the band it starts
+        assertEquals(Set.of(2, 5), ids(index.match(Map.of("price", Set.of("100000-200000")))));
+    }
+
+    @Test
+    void countsIgnoreTheFacetsOwnSelection() {
+        Map<String, List<FacetValueDTO>> counts = index.counts(Map.of(
+                "brand", Set.of("Dell"), "available", Set.of("true")));
+
+        // Drill-sideways: other brands still show how many would match
+        assertEquals(Map.of("Dell", 2, "HP", 1, "Lenovo", 1), counts(counts.get("brand")));
+        assertTrue(counts.get("brand").stream().filter(FacetValueDTO::isSelected)
+                .allMatch(value -> value.getValue().equals("Dell")));
+        // Other facets are counted under every selection
+        assertEquals(Map.of("Business", 1, "Gaming", 1), counts(counts.get("category")));
+        assertEquals(Map.of("true", 2, "false", 0), counts(counts.get("available")));
+    }
+
+    @Test
+    void followsProductChanges() {
+        Product moved = product(1, "Asus", "Business", "NEW", 45_000, true);
+        index.onProductChanged(ProductChangedEvent.updated(catalog.get(0), moved));
+        assertEquals(Set.of(2), ids(index.match(Map.of("brand", Set.of("Dell")))));
+        assertEquals(Set.of(1), ids(index.match(Map.of("brand", Set.of("Asus")))));
+
+        index.onProductChanged(ProductChangedEvent.deleted(catalog.get(4)));
+        // The last Lenovo is gone, and so is its facet value
+        assertFalse(counts(index.counts(Map.of()).get("brand")).containsKey("Lenovo"));
+        assertEquals(Set.of(1, 2, 3, 4), ids(index.match(Map.of())));
+    }
+
+    private static Set<Integer> ids(BitSet bits) {
+        return bits.stream().boxed().collect(Collectors.toSet());
+    }
+
+    private static Map<String, Integer> counts(List<FacetValueDTO> values) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        values.forEach(value -> counts.put(value.getValue(), value.getCount()));
+        return counts;
+    }
+
+    private static Product product(int id, String brand, String category, String condition, long price, boolean available) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Laptop " + id);
+        product.setBrand(brand);
+        product.setCategory(category);
+        product.setCondition(condition);
+        product.setPrice(BigDecimal.valueOf(price));
+        product.setProductAvailable(available);
+        return product;
+    }
+}
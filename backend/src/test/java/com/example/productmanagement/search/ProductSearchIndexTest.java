@@ -0,0 +1,111 @@
+package com.example.productmanagement.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.productmanagement.dto.ProductDTO;
+import com.example.productmanagement.event.ProductChangedEvent;
+import com.example.productmanagement.mapper.ProductMapper;
+import com.example.productmanagement.model.Product;
+import com.example.productmanagement.repository.ProductRepository;
+
+class ProductSearchIndexTest {
+
+    private final List<Product> catalog = new ArrayList<>();
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        catalog.add(product(1, "ThinkPad X1 Carbon", "Lenovo", "Business", "Light and sturdy"));
+        catalog.add(product(2, "Latitude 5440", "Dell", "Business", "Replaces the ThinkPad in our fleet"));
+        catalog.add(product(3, "XPS 13", "Dell", "Ultrabook", null));
+        catalog.add(product(4, "XPS 15 creator edition with OLED touch display", "Dell", "Ultrabook", null));
+        catalog.add(product(5, "Pro 14", "Samsung", "Ultrabook", null));
+        catalog.add(product(6, "ProBook 450", "HP", "Business", null));
+
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAll()).thenReturn(catalog);
+        index = new ProductSearchIndex();
+        ReflectionTestUtils.setField(index, "productRepository", productRepository);
+        ReflectionTestUtils.setField(index, "productMapper", new ProductMapper("http://localhost:8080"));
+        index.rebuild();
+    }
+
+    @Test
+    void nameHitOutranksDescriptionHit() {
+        assertEquals(List.of(1, 2), ids(index.search("thinkpad", 10)));
+    }
+
+    @Test
+    void shorterDocumentRanksFirstForTheSameHit() {
+        // BM25 length normalization: "xps" is a larger share of the shorter name
+        assertEquals(List.of(3, 4), ids(index.search("xps", 10)));
+    }
+
+    @Test
+    void lastTermAlsoMatchesAsPrefix() {
+        assertEquals(List.of(1, 2), ids(index.search("thinkp", 10)));
+        // Only the last term is expanded
+        assertEquals(List.of(), ids(index.search("thinkp zzz", 10)));
+    }
+
+    @Test
+    void exactHitOutranksPrefixExpansion() {
+        assertEquals(List.of(5, 6), ids(index.search("pro", 10)));
+    }
+
+    @Test
+    void moreMatchingTermsRankHigher() {
+        List<Integer> ids = ids(index.search("dell ultrabook", 10));
+        assertEquals(List.of(3, 4), ids.subList(0, 2));
+        assertTrue(ids.contains(2));
+    }
+
+    @Test
+    void limitKeepsTheBestHits() {
+        assertEquals(List.of(3), ids(index.search("xps", 1)));
+        assertEquals(List.of(), ids(index.search("xps", 0)));
+        assertEquals(List.of(), ids(index.search("  ,, ", 10)));
+    }
+
+    @Test
+    void followsProductChanges() {
+        Product renamed = product(3, "Inspiron 14", "Dell", "Ultrabook", null);
+        index.onProductChanged(ProductChangedEvent.updated(catalog.get(2), renamed));
+        assertEquals(List.of(4), ids(index.search("xps", 10)));
+        assertEquals(List.of(3), ids(index.search("inspiron", 10)));
+
+        index.onProductChanged(ProductChangedEvent.deleted(catalog.get(0)));
+        assertEquals(List.of(2), ids(index.search("thinkpad", 10)));
+        assertEquals(5, index.size());
+
+        index.onProductChanged(ProductChangedEvent.created(product(7, "ThinkBook 14", "Lenovo", "Business", null)));
+        assertEquals(List.of(7), ids(index.search("thinkbook", 10)));
+    }
+
+    private static List<Integer> ids(List<ProductDTO> products) {
+        return products.stream().map(ProductDTO::getId).toList();
+    }
+
+    private static Product product(int id, String name, String brand, String category, String description) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setBrand(brand);
+        product.setCategory(category);
+        product.setDescription(description);
+        product.setPrice(new BigDecimal(50000));
+        product.setProductAvailable(true);
+        return product;
+    }
+}
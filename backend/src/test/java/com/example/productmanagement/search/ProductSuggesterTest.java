@@ -0,0 +1,106 @@
+package com.example.productmanagement.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.productmanagement.dto.SuggestionDTO;
+import com.example.productmanagement.event.ProductChangedEvent;
+import com.example.productmanagement.model.Product;
+import com.example.productmanagement.repository.ProductRepository;
+
+class ProductSuggesterTest {
+
+    private final List<Product> catalog = new ArrayList<>();
+    private ProductSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        catalog.add(product(1, "Dell XPS 13", "Dell", "Ultrabook", true));
+        catalog.add(product(2, "Dell Latitude 5440", "Dell", "Business", true));
+        catalog.add(product(3, "Dell Inspiron 15", "Dell", "Home", false));
+        catalog.add(product(4, "Dell Inspiron 15", "Dell", "Home", true));
+        catalog.add(product(5, "Lenovo ThinkPad", "Lenovo", "Business", false));
+
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAll()).thenReturn(catalog);
+        suggester = new ProductSuggester();
+        ReflectionTestUtils.setField(suggester, "productRepository", productRepository);
+        suggester.rebuild();
+    }
+
+    @Test
+    void mostPopularCompletionComesFirst() {
+        // Dell: 4 products, 3 available = 7; Inspiron 15: one available, one not = 3
+        assertEquals(List.of("brand:Dell:7", "name:Dell Inspiron 15:3", "name:Dell Latitude 5440:2", "name:Dell XPS 13:2"),
+                describe(suggester.suggest("de", 10)));
+    }
+
+    @Test
+    void prefixIsNormalized() {
+        assertEquals(describe(suggester.suggest("de", 10)), describe(suggester.suggest("  DE", 10)));
+    }
+
+    @Test
+    void namesAreReachableFromEveryWord() {
+        assertEquals(List.of("name:Dell XPS 13:2"), describe(suggester.suggest("xps", 10)));
+        assertEquals(List.of("name:Lenovo ThinkPad:1"), describe(suggester.suggest("thin", 10)));
+        // Brands and categories only match from their start
+        assertEquals(List.of("category:Business:3"), describe(suggester.suggest("busi", 10)));
+    }
+
+    @Test
+    void trailingSpaceRequiresAnotherWord() {
+        // "dell " only completes names that go on after "dell"
+        List<String> suggestions = describe(suggester.suggest("dell ", 10));
+        assertEquals(3, suggestions.size());
+        assertTrue(suggestions.stream().allMatch(s -> s.startsWith("name:Dell ")));
+    }
+
+    @Test
+    void unknownPrefixAndLimit() {
+        assertEquals(List.of(), suggester.suggest("zz", 10));
+        assertEquals(List.of(), suggester.suggest("  ", 10));
+        assertEquals(List.of("brand:Dell:7"), describe(suggester.suggest("d", 1)));
+    }
+
+    @Test
+    void followsProductChanges() {
+        // The only XPS becomes a Vostro; its trie path is pruned
+        Product renamed = product(1, "Dell Vostro 3520", "Dell", "Business", true);
+        suggester.onProductChanged(ProductChangedEvent.updated(catalog.get(0), renamed));
+        assertEquals(List.of(), suggester.suggest("xps", 10));
+        assertEquals(List.of("name:Dell Vostro 3520:2"), describe(suggester.suggest("vos", 10)));
+        assertEquals(List.of("category:Business:5"), describe(suggester.suggest("busi", 10)));
+
+        // Weights drop as products go away
+        suggester.onProductChanged(ProductChangedEvent.deleted(catalog.get(3)));
+        assertEquals(List.of("name:Dell Inspiron 15:1"), describe(suggester.suggest("insp", 10)));
+        suggester.onProductChanged(ProductChangedEvent.deleted(catalog.get(4)));
+        assertEquals(List.of(), suggester.suggest("len", 10));
+    }
+
+    private static List<String> describe(List<SuggestionDTO> suggestions) {
+        return suggestions.stream().map(s -> s.getType() + ":" + s.getText() + ":" + s.getWeight()).toList();
+    }
+
+    private static Product product(int id, String name, String brand, String category, boolean available) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setBrand(brand);
+        product.setCategory(category);
+        product.setPrice(new BigDecimal(50000));
+        product.setProductAvailable(available);
+        return product;
+    }
+}
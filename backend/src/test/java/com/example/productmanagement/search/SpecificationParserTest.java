@@ -0,0 +1,128 @@
+package com.example.productmanagement.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.example.productmanagement.model.ProductAttributes;
+
+class SpecificationParserTest {
+
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource(delimiter = '|', nullValues = "null", value = {
+            "16GB DDR4 RAM                        | 16",
+            "8 GB RAM                             | 8",
+            "32GB LPDDR5X memory                  | 32",
+            "16GB unified memory                  | 16",
+            "RAM: 64GB                            | 64",
+            "Memory - 12 GB                       | 12",
+            "i5 / 8GB / 512GB SSD                 | 8",
+            "512GB SSD, 16GB                      | 16",
+            "RTX 4060 8GB GDDR6 graphics, 512GB SSD | null",
+            "no memory listed                     | null"
+    })
+    void ram(String specifications, Integer expected) {
+        assertEquals(expected, SpecificationParser.parse(1, specifications).getRamGb());
+    }
+
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource(delimiter = '|', nullValues = "null", value = {
+            "512GB NVMe SSD                       | 512",
+            "1TB SSD                              | 1024",
+            "2 TB PCIe Gen 4 SSD                  | 2048",
+            "1.5TB HDD                            | 1536",
+            "256GB SSD + 1TB HDD                  | 1280",
+            "SSD: 512GB                           | 512",
+            "Storage - 1TB                        | 1024",
+            "64GB eMMC                            | 64",
+            "16GB RAM                             | null"
+    })
+    void storage(String specifications, Integer expected) {
+        assertEquals(expected, SpecificationParser.parse(1, specifications).getStorageGb());
+    }
+
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource(delimiter = '|', nullValues = "null", value = {
+            "15.6\" FHD                           | 15.6",
+            "14 inch display                      | 14.0",
+            "13.3-inch Retina                     | 13.3",
+            "16 inches                            | 16.0",
+            "17.3in 144Hz                         | 17.3",
+            "Vivobook 15, 14\" screen             | 14.0",
+            "32\" monitor                         | null",
+            "no screen size                       | null"
+    })
+    void screen(String specifications, Double expected) {
+        assertEquals(expected, SpecificationParser.parse(1, specifications).getScreenInches());
+    }
+
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource(delimiter = '|', nullValues = "null", value = {
+            "Intel Core i7-1255U                  | i7",
+            "Core i5 12th gen                     | i5",
+            "i3, 8GB RAM                          | i3",
+            "Intel Core i9 13980HX                | i9",
+            "Intel Core Ultra 7 155H              | ultra 7",
+            "Core Ultra 5 125U                    | ultra 5",
+            "AMD Ryzen 5 7530U                    | ryzen 5",
+            "Ryzen 9 7940HS                       | ryzen 9",
+            "Apple M1                             | m1",
+            "Apple M2 Pro                         | m2 pro",
+            "M3 Max 16-core                       | m3 max",
+            "Apple M4 chip                        | m4",
+            "Intel Celeron N4500                  | celeron",
+            "Snapdragon X Elite                   | snapdragon",
+            "Intel processor                      | null"
+    })
+    void cpu(String specifications, String expected) {
+        assertEquals(expected, SpecificationParser.parse(1, specifications).getCpuFamily());
+    }
+
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource(delimiter = '|', nullValues = "null", value = {
+            "NVIDIA GeForce RTX 4060              | rtx 4060",
+            "RTX3050 4GB                          | rtx 3050",
+            "GTX 1650                             | gtx 1650",
+            "RTX A2000                            | rtx 2000",
+            "AMD Radeon RX 6700S                  | rx 6700s",
+            "NVIDIA MX 550                        | mx 550",
+            "Intel Iris Xe Graphics               | iris xe",
+            "Intel Arc A370M                      | arc a370m",
+            "Intel UHD Graphics                   | uhd graphics",
+            "AMD Radeon Graphics                  | radeon graphics",
+            "integrated                           | null"
+    })
+    void gpu(String specifications, String expected) {
+        assertEquals(expected, SpecificationParser.parse(1, specifications).getGpu());
+    }
+
+    @Test
+    void parsesAFullSpecificationLine() {
+        ProductAttributes attributes = SpecificationParser.parse(7,
+                "Intel Core i7-1255U, 16GB DDR4 RAM, 512GB NVMe SSD, 15.6\" FHD, RTX 3050");
+        assertEquals(7, attributes.getProductId());
+        assertEquals(16, attributes.getRamGb());
+        assertEquals(512, attributes.getStorageGb());
+        assertEquals(15.6, attributes.getScreenInches());
+        assertEquals("i7", attributes.getCpuFamily());
+        assertEquals("rtx 3050", attributes.getGpu());
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"   ", "lorem ipsum dolor", "!!!###", "99999GB 1.2.3\" x86", "éèê"})
+    void nullOrGarbageYieldsNoAttributes(String specifications) {
+        ProductAttributes attributes = SpecificationParser.parse(3, specifications);
+        assertEquals(3, attributes.getProductId());
+        assertNull(attributes.getRamGb());
+        assertNull(attributes.getStorageGb());
+        assertNull(attributes.getScreenInches());
+        assertNull(attributes.getCpuFamily());
+        assertNull(attributes.getGpu());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.productmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ImageProcessingQueueTest {
+
+    private final ImageProcessingQueue queue = new ImageProcessingQueue(1, 1);
+
+    @AfterEach
+    void shutDown() throws InterruptedException {
+        queue.destroy();
+    }
+
+    @Test
+    void tracksJobUntilItFinishes() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        queue.submit("a.jpg", () -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(ImageProcessingQueue.Status.PROCESSING, queue.pendingStatus("a.jpg"));
+
+        release.countDown();
+        awaitIdle("a.jpg");
+        assertEquals(1L, queue.stats().get("completed"));
+    }
+
+    @Test
+    void doesNotQueueTheSameNameTwice() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        queue.submit("a.jpg", () -> {
+            runs.incrementAndGet();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        queue.submit("a.jpg", () -> runs.incrementAndGet() > 0);
+
+        release.countDown();
+        awaitIdle("a.jpg");
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void runsOnCallerWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        queue.submit("running.jpg", () -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        queue.submit("queued.jpg", () -> true);
+
+        Thread caller = Thread.currentThread();
+        AtomicInteger onCaller = new AtomicInteger();
+        queue.submit("overflow.jpg", () -> Thread.currentThread() == caller && onCaller.incrementAndGet() > 0);
+        assertEquals(1, onCaller.get());
+        assertFalse(queue.isPending("overflow.jpg"));
+        assertEquals(1L, queue.stats().get("callerRuns"));
+
+        release.countDown();
+        awaitIdle("running.jpg");
+        awaitIdle("queued.jpg");
+    }
+
+    @Test
+    void ignoresJobsAfterShutdown() throws Exception {
+        queue.destroy();
+        AtomicInteger runs = new AtomicInteger();
+        queue.submit("late.jpg", () -> runs.incrementAndGet() > 0);
+
+        // Neither run nor left behind as QUEUED
+        assertEquals(0, runs.get());
+        assertNull(queue.pendingStatus("late.jpg"));
+        assertFalse(queue.isPending("late.jpg"));
+    }
+
+    private void awaitIdle(String name) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queue.isPending(name) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(queue.isPending(name), () -> name + " still pending");
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.productmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.productmanagement.dto.ProductImportErrorDTO;
+import com.example.productmanagement.dto.ProductImportResultDTO;
+import com.example.productmanagement.mapper.ProductMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+class ProductImportServiceTest {
+
+    private static final String STORED = "uploads/" + "a".repeat(64) + ".jpg";
+
+    private FileStorageService fileStorageService;
+    private ProductImportService importService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fileStorageService = mock(FileStorageService.class);
+        when(fileStorageService.isStoredImage(anyString())).thenAnswer(call -> STORED.equals(call.getArgument(0)));
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(call ->
+                call.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        importService = new ProductImportService();
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            ReflectionTestUtils.setField(importService, "validator", factory.getValidator());
+        }
+        ReflectionTestUtils.setField(importService, "entityManager", mock(EntityManager.class));
+        ReflectionTestUtils.setField(importService, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(importService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(importService, "productMapper", new ProductMapper("http://localhost:8080"));
+        ReflectionTestUtils.setField(importService, "eventPublisher", mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(importService, "fileStorageService", fileStorageService);
+        ReflectionTestUtils.setField(importService, "defaultBatchSize", 500);
+        ReflectionTestUtils.setField(importService, "maxBatchSize", 5000);
+    }
+
+    @Test
+    void csvErrorsReportThePhysicalLineTheRowStartsOn() throws IOException {
+        String csv = "name,brand,price,category,description\r\n"  // line 1
+                + "Latitude 5440,Dell,85000,Business,\"Two\r\nline description\"\r\n"  // lines 2-3
+                + "\r\n"  // line 4, blank
+                + "Broken,Dell,abc,Business,\"One\n\nmore\"\n"  // lines 5-7
+                + "ThinkPad E14,Lenovo,-1,Business,plain\n";  // line 8
+
+        ProductImportResultDTO result = importService.importProducts(csv("products.csv", csv), null);
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(5, 8), result.getErrors().stream().map(ProductImportErrorDTO::getRow).toList());
+    }
+
+    @Test
+    void imagePathMustNameAStoredImage() throws IOException {
+        String csv = "name,brand,price,category,imagePath\n"
+                + "Latitude 5440,Dell,85000,Business," + STORED + "\n"
+                + "ThinkPad E14,Lenovo,70000,Business,uploads/missing.jpg\n"
+                + "IdeaPad 5,Lenovo,60000,Business,uploads/missing.jpg\n"
+                + "Pavilion 15,HP,55000,Business,../etc/passwd\n";
+
+        ProductImportResultDTO result = importService.importProducts(csv("products.csv", csv), null);
+
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(3, 4, 5), result.getErrors().stream().map(ProductImportErrorDTO::getRow).toList());
+        assertTrue(result.getErrors().get(0).getMessages().get(0).startsWith("imagePath: no stored image"));
+        // Looked up once per distinct path
+        verify(fileStorageService, times(1)).isStoredImage("uploads/missing.jpg");
+    }
+
+    @Test
+    void imagePathThatCannotBeCheckedIsRejected() throws IOException {
+        when(fileStorageService.isStoredImage(STORED)).thenThrow(new IOException("storage unreachable"));
+        String csv = "name,brand,price,category,imagePath\n"
+                + "Latitude 5440,Dell,85000,Business," + STORED + "\n";
+
+        ProductImportResultDTO result = importService.importProducts(csv("products.csv", csv), null);
+
+        assertEquals(0, result.getImported());
+        assertTrue(result.getErrors().get(0).getMessages().get(0).endsWith("storage unreachable"));
+    }
+
+    private static MockMultipartFile csv(String name, String content) {
+        return new MockMultipartFile("file", name, "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.productmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.productmanagement.cache.ProductCatalogCache;
+import com.example.productmanagement.dto.ProductBatchDTO;
+import com.example.productmanagement.dto.ProductDTO;
+import com.example.productmanagement.exception.ResourceNotFoundException;
+import com.example.productmanagement.mapper.ProductMapper;
+import com.example.productmanagement.model.Product;
+import com.example.productmanagement.repository.ProductRepository;
+import com.example.productmanagement.search.ProductAttributeIndex;
+import com.example.productmanagement.search.ProductFacetIndex;
+import com.example.productmanagement.search.ProductSimilarityIndex;
+
+/**
+ * Multi-product reads go through one cache lookup instead of one read per product:
+ * the batch endpoint keeps the request order, index-driven reads the index order.
+ */
+class ProductServiceLookupTest {
+
+    // Ids 1..9 exist except 4, which was deleted after the indexes were read
+    private static final Set<Integer> STORED = Set.of(1, 2, 3, 5, 6, 7, 8, 9);
+
+    private ProductRepository productRepository;
+    private ProductFacetIndex productFacetIndex;
+    private ProductAttributeIndex productAttributeIndex;
+    private ProductSimilarityIndex productSimilarityIndex;
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllById(anyIterable())).thenAnswer(call -> {
+            Iterable<Integer> ids = call.getArgument(0);
+            List<Product> found = new ArrayList<>();
+            for (Integer id : ids) {
+                if (STORED.contains(id)) {
+                    found.add(product(id));
+                }
+            }
+            // The database returns rows in its own order
+            Collections.reverse(found);
+            return found;
+        });
+        productFacetIndex = mock(ProductFacetIndex.class);
+        productAttributeIndex = mock(ProductAttributeIndex.class);
+        productSimilarityIndex = mock(ProductSimilarityIndex.class);
+
+        productService = new ProductService();
+        ReflectionTestUtils.setField(productService, "productRepository", productRepository);
+        ReflectionTestUtils.setField(productService, "productMapper", new ProductMapper("http://localhost:8080"));
+        ReflectionTestUtils.setField(productService, "productCatalogCache", new ProductCatalogCache(100, 10, 10, 600));
+        ReflectionTestUtils.setField(productService, "productFacetIndex", productFacetIndex);
+        ReflectionTestUtils.setField(productService, "productAttributeIndex", productAttributeIndex);
+        ReflectionTestUtils.setField(productService, "productSimilarityIndex", productSimilarityIndex);
+        ReflectionTestUtils.setField(productService, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(productService, "maxPageSize", 100);
+        ReflectionTestUtils.setField(productService, "maxBatchSize", 5);
+    }
+
+    // Batch fetch (getProductsByIds)
+
+    @Test
+    void batchKeepsRequestOrderAndReportsMissingIds() {
+        ProductBatchDTO batch = productService.getProductsByIds(List.of(9, 4, 2, 9, 7));
+
+        // The repository answers in its own order; repeated ids come back once
+        assertEquals(List.of(9, 2, 7), ids(batch.getItems()));
+        assertEquals(List.of(4), batch.getMissingIds());
+        verify(productRepository).findAllById(Set.of(9, 4, 2, 7));
+    }
+
+    @Test
+    void batchMixesCachedAndLoadedProductsInRequestOrder() {
+        productService.getProductsByIds(List.of(3, 1));
+        ProductBatchDTO batch = productService.getProductsByIds(List.of(5, 1, 6, 3));
+
+        assertEquals(List.of(5, 1, 6, 3), ids(batch.getItems()));
+        // Only the ids not cached by the first call are loaded
+        verify(productRepository).findAllById(Set.of(5, 6));
+    }
+
+    @Test
+    void batchIsValidated() {
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByIds(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByIds(Arrays.asList(1, null)));
+        // Six distinct ids over the limit of five; repeats don't count
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByIds(List.of(1, 2, 3, 5, 6, 7)));
+        assertEquals(5, productService.getProductsByIds(List.of(1, 2, 3, 5, 6, 1)).getItems().size());
+    }
+
+    // Index-driven reads
+
+    @Test
+    void facetPageIsLoadedInOneBatchInIdOrder() {
+        when(productFacetIndex.match(anyMap())).thenReturn(bits(9, 2, 7, 1, 5));
+        when(productFacetIndex.counts(anyMap())).thenReturn(Map.of());
+
+        assertEquals(List.of(1, 2, 5, 7, 9), ids(productService.getFacets(Map.of(), 10).getItems()));
+        verify(productRepository, times(1)).findAllById(anyIterable());
+        verify(productRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void deletedIdsAreSkippedAndThePageToppedUp() {
+        when(productFacetIndex.match(anyMap())).thenReturn(bits(1, 3, 4, 5, 6));
+        when(productFacetIndex.counts(anyMap())).thenReturn(Map.of());
+
+        // 4 is gone, so the page of three is filled from the next bit
+        assertEquals(List.of(1, 3, 5), ids(productService.getFacets(Map.of(), 3).getItems()));
+        verify(productRepository, times(2)).findAllById(anyIterable());
+    }
+
+    @Test
+    void attributeFilterPageIsLoadedInOneBatch() {
+        when(productAttributeIndex.match(any())).thenReturn(bits(8, 3, 6));
+
+        assertEquals(List.of(3, 6), ids(productService.filterProducts(List.of("ram>=16"), 2).getItems()));
+        verify(productRepository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    void cachedProductsAreNotReloaded() {
+        when(productAttributeIndex.match(any())).thenReturn(bits(1, 2, 3));
+        productService.filterProducts(List.of("ram>=16"), 2);
+        productService.filterProducts(List.of("ram>=16"), 3);
+
+        // The second call only loads the one product the first did not
+        verify(productRepository).findAllById(Set.of(1, 2));
+        verify(productRepository).findAllById(Set.of(3));
+    }
+
+    @Test
+    void similarProductsKeepNearestFirstOrder() {
+        when(productSimilarityIndex.nearest(1, 4)).thenReturn(new int[] { 7, 4, 2, 9 });
+
+        assertEquals(List.of(7, 2, 9), ids(productService.getSimilarProducts(1, 4)));
+        verify(productRepository, times(1)).findAllById(anyIterable());
+        verify(productRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void similarProductsOfUnknownIdIsNotFound() {
+        when(productSimilarityIndex.nearest(4, 6)).thenReturn(new int[0]);
+        assertThrows(ResourceNotFoundException.class, () -> productService.getSimilarProducts(4, null));
+    }
+
+    private static BitSet bits(int... ids) {
+        BitSet bits = new BitSet();
+        for (int id : ids) {
+            bits.set(id);
+        }
+        return bits;
+    }
+
+    private static List<Integer> ids(List<ProductDTO> products) {
+        return products.stream().map(ProductDTO::getId).toList();
+    }
+
+    private static Product product(int id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Laptop " + id);
+        product.setBrand("Dell");
+        product.setCategory("Business");
+        product.setPrice(new BigDecimal(100 * id));
+        product.setProductAvailable(true);
+        return product;
+    }
+}
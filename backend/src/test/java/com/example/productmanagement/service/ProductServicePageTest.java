@@ -0,0 +1,217 @@
+package com.example.productmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.productmanagement.dto.ProductDTO;
+import com.example.productmanagement.dto.ProductPageDTO;
+import com.example.productmanagement.mapper.ProductMapper;
+import com.example.productmanagement.model.Product;
+import com.example.productmanagement.repository.ProductRepository;
+
+/**
+ * Keyset pagination in ProductService against a repository stub that applies the same
+ * ordering and "after the cursor" conditions as the JPQL queries.
+ */
+class ProductServicePageTest {
+
+    private final List<Product> catalog = new ArrayList<>();
+    private ProductRepository productRepository;
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        // Repeated prices and names, so the id tie-breaker matters; one name contains the separator
+        String[] names = { "Alpha", "Beta|Pro", "Alpha", "Gamma", "Beta|Pro", "Delta", "Alpha" };
+        int[] prices = { 500, 300, 300, 900, 500, 100, 300 };
+        for (int i = 0; i < names.length; i++) {
+            catalog.add(product(i + 1, names[i], new BigDecimal(prices[i])));
+        }
+
+        productRepository = mock(ProductRepository.class);
+        Comparator<Product> byId = Comparator.comparing(Product::getId);
+        Comparator<Product> byPrice = Comparator.comparing(Product::getPrice).thenComparing(byId);
+        Comparator<Product> byName = Comparator.comparing(Product::getName).thenComparing(byId);
+
+        when(productRepository.findFirstPageOrderByIdAsc(any())).thenAnswer(call -> page(call, byId, null));
+        when(productRepository.findFirstPageOrderByIdDesc(any())).thenAnswer(call -> page(call, byId.reversed(), null));
+        when(productRepository.findPageAfterIdAsc(anyInt(), any())).thenAnswer(call ->
+                page(call, byId, p -> p.getId() > (Integer) call.getArgument(0)));
+        when(productRepository.findPageAfterIdDesc(anyInt(), any())).thenAnswer(call ->
+                page(call, byId.reversed(), p -> p.getId() < (Integer) call.getArgument(0)));
+
+        when(productRepository.findFirstPageOrderByPriceAsc(any())).thenAnswer(call -> page(call, byPrice, null));
+        when(productRepository.findFirstPageOrderByPriceDesc(any())).thenAnswer(call -> page(call, byPrice.reversed(), null));
+        when(productRepository.findPageAfterPriceAsc(any(), anyInt(), any())).thenAnswer(call ->
+                page(call, byPrice, p -> after(p.getPrice(), p.getId(), call.getArgument(0), call.getArgument(1), 1)));
+        when(productRepository.findPageAfterPriceDesc(any(), anyInt(), any())).thenAnswer(call ->
+                page(call, byPrice.reversed(), p -> after(p.getPrice(), p.getId(), call.getArgument(0), call.getArgument(1), -1)));
+
+        when(productRepository.findFirstPageOrderByNameAsc(any())).thenAnswer(call -> page(call, byName, null));
+        when(productRepository.findFirstPageOrderByNameDesc(any())).thenAnswer(call -> page(call, byName.reversed(), null));
+        when(productRepository.findPageAfterNameAsc(any(), anyInt(), any())).thenAnswer(call ->
+                page(call, byName, p -> after(p.getName(), p.getId(), call.getArgument(0), call.getArgument(1), 1)));
+        when(productRepository.findPageAfterNameDesc(any(), anyInt(), any())).thenAnswer(call ->
+                page(call, byName.reversed(), p -> after(p.getName(), p.getId(), call.getArgument(0), call.getArgument(1), -1)));
+
+        productService = new ProductService();
+        ReflectionTestUtils.setField(productService, "productRepository", productRepository);
+        ReflectionTestUtils.setField(productService, "productMapper", new ProductMapper("http://localhost:8080"));
+        ReflectionTestUtils.setField(productService, "eventPublisher", mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(productService, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(productService, "maxPageSize", 100);
+    }
+
+    @ParameterizedTest(name = "{0} {1}, {2} per page")
+    @CsvSource({
+            "id,    asc,  2", "id,    desc, 3",
+            "price, asc,  2", "price, desc, 3", "price, asc, 1",
+            "name,  asc,  2", "name,  desc, 3", "name,  desc, 1",
+    })
+    void walkingTheCursorsVisitsEveryProductOnceInOrder(String sort, String direction, int size) {
+        Comparator<Product> order = switch (sort) {
+            case "price" -> Comparator.comparing(Product::getPrice).thenComparing(Product::getId);
+            case "name" -> Comparator.comparing(Product::getName).thenComparing(Product::getId);
+            default -> Comparator.comparing(Product::getId);
+        };
+        if (direction.equals("desc")) {
+            order = order.reversed();
+        }
+        List<Integer> expected = catalog.stream().sorted(order).map(Product::getId).toList();
+
+        List<Integer> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ProductPageDTO page = productService.getProductPage(sort, direction, size, cursor);
+            page.getItems().stream().map(ProductDTO::getId).forEach(visited::add);
+            assertEquals(page.isHasMore(), page.getNextCursor() != null);
+            cursor = page.getNextCursor();
+            assertTrue(++pages <= catalog.size(), "Cursor does not advance");
+        } while (cursor != null);
+
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        ProductPageDTO page = productService.getProductPage("price", "asc", catalog.size(), null);
+        assertEquals(catalog.size(), page.getItems().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void cursorOfAnotherSortIsRejected() {
+        String cursor = productService.getProductPage("price", "asc", 2, null).getNextCursor();
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductPage("name", "asc", 2, cursor));
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductPage("price", "desc", 2, cursor));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "not base64!", "cHJpY2V8YXNj", "cHJpY2V8YXNjfHh8MTAw" })
+    void malformedCursorIsRejected(String cursor) {
+        // The last two decode to "price|asc" and "price|asc|x|100"
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> productService.getProductPage("price", "asc", 2, cursor));
+        assertEquals("Invalid cursor", e.getMessage());
+    }
+
+    // Price validation: price is NOT NULL and sorted on, so updates may not clear it
+
+    @Test
+    void fullUpdateWithoutPriceIsRejected() {
+        Product stored = catalog.get(0);
+        when(productRepository.findById(1)).thenReturn(Optional.of(stored));
+        Product details = product(1, "Alpha", null);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> productService.updateProduct(1, details));
+        assertEquals("Price is required", e.getMessage());
+        assertEquals(new BigDecimal(500), stored.getPrice());
+        verify(productRepository, never()).save(any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "0", "-5", "abc" })
+    void invalidPriceInMultipartUpdateIsRejected(String price) {
+        when(productRepository.findById(1)).thenReturn(Optional.of(catalog.get(0)));
+        assertThrows(IllegalArgumentException.class, () -> productService.updateProductWithImage(
+                1, null, null, null, price, null, null, null, null, null, null, null));
+        verify(productRepository, never()).save(any());
+    }
+
+    @Test
+    void patchWithoutPriceKeepsIt() {
+        Product stored = catalog.get(0);
+        when(productRepository.findById(1)).thenReturn(Optional.of(stored));
+        when(productRepository.save(any())).thenAnswer(call -> call.getArgument(0));
+        ProductDTO patch = new ProductDTO();
+        patch.setName("Renamed");
+
+        productService.updateProductFromDTO(1, patch);
+        assertEquals("Renamed", stored.getName());
+        assertEquals(new BigDecimal(500), stored.getPrice());
+    }
+
+    @Test
+    void patchWithZeroPriceIsRejected() {
+        when(productRepository.findById(1)).thenReturn(Optional.of(catalog.get(0)));
+        ProductDTO patch = new ProductDTO();
+        patch.setPrice(BigDecimal.ZERO);
+        assertThrows(IllegalArgumentException.class, () -> productService.updateProductFromDTO(1, patch));
+        assertEquals(new BigDecimal(500), catalog.get(0).getPrice());
+    }
+
+    private List<Product> page(InvocationOnMock call, Comparator<Product> order, Predicate<Product> after) {
+        Pageable pageable = call.getArgument(call.getArguments().length - 1);
+        return catalog.stream()
+                .filter(p -> after == null || after.test(p))
+                .sorted(order)
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+
+    // Same condition as the JPQL: value beyond the cursor, or equal with the id beyond it
+    private static <T extends Comparable<T>> boolean after(T value, Integer id, T cursorValue, Integer cursorId, int sign) {
+        int compared = value.compareTo(cursorValue) * sign;
+        return compared > 0 || (compared == 0 && Integer.compare(id, cursorId) * sign > 0);
+    }
+
+    private static Product product(int id, String name, BigDecimal price) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setBrand("Dell");
+        product.setCategory("Business");
+        product.setPrice(price);
+        product.setProductAvailable(true);
+        return product;
+    }
+}
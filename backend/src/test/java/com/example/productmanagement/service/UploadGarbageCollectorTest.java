@@ -0,0 +1,191 @@
+package com.example.productmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.productmanagement.repository.OrderItemRepository;
+import com.example.productmanagement.repository.ProductRepository;
+import com.example.productmanagement.storage.LocalStorageBackend;
+
+class UploadGarbageCollectorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final String REFERENCED = "a".repeat(64) + ".jpg";
+    private static final String ORDERED = "b".repeat(64) + ".jpg";
+    private static final String ORPHAN = "c".repeat(64) + ".jpg";
+    private static final String RECENT = "d".repeat(64) + ".jpg";
+
+    private ProductRepository productRepository;
+    private OrderItemRepository orderItemRepository;
+    private FileStorageService fileStorageService;
+    private LocalStorageBackend storage;
+    private UploadGarbageCollector collector;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.streamImagePaths()).thenAnswer(call -> Stream.of());
+        orderItemRepository = mock(OrderItemRepository.class);
+        when(orderItemRepository.streamProductImageUrls()).thenAnswer(call -> Stream.of());
+        fileStorageService = mock(FileStorageService.class);
+        when(fileStorageService.stagingRoot()).thenReturn(tempDir.resolve("staging"));
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(call ->
+                call.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        collector = new UploadGarbageCollector();
+        ReflectionTestUtils.setField(collector, "productRepository", productRepository);
+        ReflectionTestUtils.setField(collector, "orderItemRepository", orderItemRepository);
+        ReflectionTestUtils.setField(collector, "fileStorageService", fileStorageService);
+        storage = new LocalStorageBackend(tempDir.resolve("uploads").toString());
+        ReflectionTestUtils.setField(collector, "storageBackend", storage);
+        ReflectionTestUtils.setField(collector, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(collector, "enabled", true);
+        ReflectionTestUtils.setField(collector, "graceMinutes", 60L);
+    }
+
+    @Test
+    void sweepsUnreferencedOriginalsAndTheirDerivatives() throws IOException {
+        when(productRepository.streamImagePaths()).thenAnswer(call -> Stream.of("uploads/" + REFERENCED));
+        // Order history keeps full URLs
+        when(orderItemRepository.streamProductImageUrls()).thenAnswer(call ->
+                Stream.of("http://localhost:8080/uploads/" + ORDERED));
+        store(REFERENCED, 120);
+        store(variant(REFERENCED), 120);
+        store(ORDERED, 120);
+        store(ORPHAN, 120);
+        store(variant(ORPHAN), 120);
+
+        Map<String, Object> report = collector.collect();
+
+        assertTrue(storage.exists(REFERENCED));
+        assertTrue(storage.exists(variant(REFERENCED)));
+        assertTrue(storage.exists(ORDERED));
+        assertFalse(storage.exists(ORPHAN));
+        assertFalse(storage.exists(variant(ORPHAN)));
+        assertEquals(5L, report.get("filesScanned"));
+        assertEquals(2L, report.get("filesDeleted"));
+        assertEquals(2, report.get("referencedImages"));
+        assertEquals(0L, report.get("failures"));
+        assertEquals(2L, collector.stats().get("totalFilesDeleted"));
+    }
+
+    @Test
+    void keepsRecentFilesAndDerivativesOfRecentOriginals() throws IOException {
+        store(RECENT, 5);
+        // Old derivative, but its original was stored (or reused) inside the grace period
+        store(variant(RECENT), 120);
+
+        Map<String, Object> report = collector.collect();
+
+        assertTrue(storage.exists(RECENT));
+        assertTrue(storage.exists(variant(RECENT)));
+        assertEquals(2L, report.get("skippedRecent"));
+        assertEquals(0L, report.get("filesDeleted"));
+    }
+
+    @Test
+    void keepsOriginalsWithDerivativesInProgress() throws IOException {
+        store(ORPHAN, 120);
+        when(fileStorageService.isProcessing(ORPHAN)).thenReturn(true);
+
+        collector.collect();
+        assertTrue(storage.exists(ORPHAN));
+    }
+
+    @Test
+    void deletesStaleStagingFiles() throws IOException {
+        Path staging = Files.createDirectories(tempDir.resolve("staging"));
+        Path stale = Files.writeString(staging.resolve(".upload-1.tmp"), "stale");
+        Files.setLastModifiedTime(stale, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        Path inFlight = Files.writeString(staging.resolve(".upload-2.tmp"), "in flight");
+
+        Map<String, Object> report = collector.collect();
+
+        assertFalse(Files.exists(stale));
+        assertTrue(Files.exists(inFlight));
+        assertEquals(5L, report.get("bytesReclaimed"));
+    }
+
+    @Test
+    void longHashSet() {
+        UploadGarbageCollector.LongHashSet set = new UploadGarbageCollector.LongHashSet(2);
+        for (long key = -500; key <= 500; key++) {
+            set.add(key * 0x9E3779B97F4A7C15L);
+        }
+        set.add(0);
+        // 0 is stored as a stand-in key; adding it again is not a new element
+        assertEquals(1001, set.size());
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(123 * 0x9E3779B97F4A7C15L));
+        assertFalse(set.contains(501 * 0x9E3779B97F4A7C15L));
+        assertEquals(UploadGarbageCollector.key("abc.jpg"), UploadGarbageCollector.key("abc.jpg"));
+    }
+
+    @Test
+    void scheduledRunRecordsAnUnexpectedFailure() {
+        when(productRepository.streamImagePaths()).thenThrow(new IllegalArgumentException("connection reset"));
+
+        // Must not escape into the scheduler
+        collector.scheduledCollect();
+
+        Map<String, Object> stats = collector.stats();
+        assertEquals(0L, stats.get("runs"));
+        assertEquals(1L, stats.get("failedRuns"));
+        assertFalse((Boolean) stats.get("running"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> failure = (Map<String, Object>) stats.get("lastFailure");
+        assertEquals("IllegalArgumentException: connection reset", failure.get("error"));
+        assertTrue(failure.containsKey("failedAt"));
+        assertNull(stats.get("lastRun"));
+    }
+
+    @Test
+    void manualRunRethrowsAfterRecordingTheFailure() {
+        when(productRepository.streamImagePaths()).thenThrow(new IllegalStateException("pool exhausted"));
+
+        assertThrows(IllegalStateException.class, collector::collect);
+        assertEquals(1L, collector.stats().get("failedRuns"));
+
+        // The lock was released, so the next run goes ahead
+        doAnswer(call -> Stream.of()).when(productRepository).streamImagePaths();
+        collector.collect();
+        assertEquals(1L, collector.stats().get("runs"));
+    }
+
+    private void store(String key, long ageMinutes) throws IOException {
+        Path staged = Files.writeString(Files.createTempFile(tempDir, "staged-", ".tmp"), key);
+        storage.put(key, staged, "image/jpeg");
+        Files.setLastModifiedTime(storage.stat(key).localFile(),
+                FileTime.from(Instant.now().minus(Duration.ofMinutes(ageMinutes))));
+    }
+
+    private static String variant(String original) {
+        return "variants/card/" + original + ".jpg";
+    }
+}
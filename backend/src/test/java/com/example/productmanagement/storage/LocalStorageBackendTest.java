@@ -0,0 +1,163 @@
+package com.example.productmanagement.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LocalStorageBackendTest {
+
+    private static final String HASHED = "3f2a" + "0".repeat(58) + "c9.jpg";
+    private static final String VARIANT = "variants/card/" + HASHED + ".jpg";
+
+    @TempDir
+    Path tempDir;
+
+    private Path root;
+    private LocalStorageBackend storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        root = tempDir.resolve("uploads");
+        storage = new LocalStorageBackend(root.toString());
+    }
+
+    @Test
+    void shardsHexNamesOnTheirOwnPrefix() {
+        assertEquals(root.resolve("3f/2a/" + HASHED), storage.shardedPath(HASHED));
+        assertEquals(root.resolve("variants/card/3f/2a/" + HASHED + ".jpg"), storage.shardedPath(VARIANT));
+    }
+
+    @Test
+    void shardsOtherNamesOnAHashOfTheName() throws IOException {
+        Path path = storage.shardedPath("photo.jpg");
+        Path relative = root.relativize(path);
+        assertEquals(3, relative.getNameCount());
+        assertTrue(relative.getName(0).toString().matches("[0-9a-f]{2}"));
+        assertTrue(relative.getName(1).toString().matches("[0-9a-f]{2}"));
+        assertEquals("photo.jpg", relative.getFileName().toString());
+        // Stable, so the file is found again after a restart
+        assertEquals(path, new LocalStorageBackend(root.toString()).shardedPath("photo.jpg"));
+    }
+
+    @Test
+    void putMovesTheSourceIntoTheShardedLayout() throws IOException {
+        Path source = staged("hello");
+        storage.put(HASHED, source, "image/jpeg");
+
+        assertFalse(Files.exists(source));
+        assertEquals("hello", Files.readString(storage.shardedPath(HASHED)));
+        StoredObject object = storage.stat(HASHED);
+        assertEquals(HASHED, object.key());
+        assertEquals(5, object.size());
+        assertEquals(storage.shardedPath(HASHED), object.localFile());
+        assertTrue(storage.exists(HASHED));
+    }
+
+    @Test
+    void findsAndReplacesFilesInTheFlatLayout() throws IOException {
+        Files.writeString(storage.legacyPath(HASHED), "old");
+        assertEquals(storage.legacyPath(HASHED), storage.stat(HASHED).localFile());
+
+        storage.put(HASHED, staged("new"), "image/jpeg");
+        assertFalse(Files.exists(storage.legacyPath(HASHED)));
+        assertEquals("new", read(storage.open(HASHED, 0, 2)));
+    }
+
+    @Test
+    void opensByteRanges() throws IOException {
+        storage.put(HASHED, staged("0123456789"), "image/jpeg");
+        assertEquals("2345", read(storage.open(HASHED, 2, 5)));
+        assertEquals("9", read(storage.open(HASHED, 9, 9)));
+        assertEquals("0123456789", read(storage.open(HASHED, 0, 9)));
+    }
+
+    @Test
+    void missingKeys() throws IOException {
+        assertNull(storage.stat("missing.jpg"));
+        assertFalse(storage.exists("missing.jpg"));
+        assertThrows(NoSuchFileException.class, () -> storage.open("missing.jpg", 0, 0));
+        storage.delete("missing.jpg");
+        storage.touch("missing.jpg");
+    }
+
+    @Test
+    void deleteRemovesBothLayouts() throws IOException {
+        storage.put(HASHED, staged("new"), "image/jpeg");
+        Files.writeString(storage.legacyPath(HASHED), "old");
+        storage.delete(HASHED);
+        assertFalse(Files.exists(storage.shardedPath(HASHED)));
+        assertFalse(Files.exists(storage.legacyPath(HASHED)));
+        assertFalse(storage.exists(HASHED));
+    }
+
+    @Test
+    void touchUpdatesLastModified() throws IOException {
+        storage.put(HASHED, staged("x"), "image/jpeg");
+        Files.setLastModifiedTime(storage.shardedPath(HASHED), FileTime.fromMillis(0));
+        storage.touch(HASHED);
+        assertNotEquals(0, storage.stat(HASHED).lastModified().toEpochMilli());
+    }
+
+    @Test
+    void listMapsBothLayoutsBackToKeys() throws IOException {
+        storage.put(HASHED, staged("a"), "image/jpeg");
+        storage.put(VARIANT, staged("bb"), "image/jpeg");
+        storage.put("photo.jpg", staged("ccc"), "image/jpeg");
+        Files.createDirectories(storage.legacyPath("variants/thumb/x.jpg.jpg").getParent());
+        Files.writeString(storage.legacyPath("legacy.jpg"), "dddd");
+        Files.writeString(storage.legacyPath("variants/thumb/x.jpg.jpg"), "eeeee");
+        // Not objects: temp files and files outside both layouts
+        Files.writeString(root.resolve(".upload-1.tmp"), "tmp");
+        Files.createDirectories(root.resolve("stray/dir"));
+        Files.writeString(root.resolve("stray/dir/file.jpg"), "stray");
+        Files.createDirectories(root.resolve("00/00"));
+        Files.writeString(root.resolve("00/00/" + HASHED), "wrong shard");
+
+        Map<String, Long> listed;
+        try (Stream<StoredObject> objects = storage.list()) {
+            listed = objects.collect(Collectors.toMap(StoredObject::key, StoredObject::size));
+        }
+        assertEquals(Map.of(
+                HASHED, 1L,
+                VARIANT, 2L,
+                "photo.jpg", 3L,
+                "legacy.jpg", 4L,
+                "variants/thumb/x.jpg.jpg", 5L), listed);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "../outside.jpg", "variants/../../outside.jpg" })
+    void rejectsKeysOutsideTheRoot(String key) {
+        assertThrows(IllegalArgumentException.class, () -> storage.legacyPath(key));
+    }
+
+    private Path staged(String content) throws IOException {
+        return Files.writeString(Files.createTempFile(tempDir, "staged-", ".tmp"), content);
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.productmanagement.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.checksums.RequestChecksumCalculation;
+import software.amazon.awssdk.core.checksums.ResponseChecksumValidation;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Runs S3StorageBackend against a MinIO container, the same stand-in
+ * app.storage.s3.endpoint is meant for. Skipped where Docker isn't available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class S3StorageBackendTest {
+
+    private static final String BUCKET = "uploads-test";
+    private static final String PREFIX = "uploads/";
+    private static final String HASHED = "3f2a" + "0".repeat(58) + "c9.jpg";
+    private static final String VARIANT = "variants/card/" + HASHED + ".jpg";
+
+    @Container
+    static final MinIOContainer MINIO = new MinIOContainer("minio/minio:RELEASE.2023-09-04T19-57-37Z");
+
+    private static S3Client client;
+    private static S3StorageBackend storage;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void createBucket() {
+        client = S3Client.builder()
+                .region(Region.US_EAST_1)
+                .endpointOverride(URI.create(MINIO.getS3URL()))
+                .forcePathStyle(true)
+                .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
+                .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED)
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(MINIO.getUserName(), MINIO.getPassword())))
+                .build();
+        client.createBucket(request -> request.bucket(BUCKET));
+        storage = new S3StorageBackend(BUCKET, PREFIX, "us-east-1", MINIO.getS3URL(),
+                MINIO.getUserName(), MINIO.getPassword());
+    }
+
+    @AfterAll
+    static void close() {
+        storage.destroy();
+        client.close();
+    }
+
+    @BeforeEach
+    void emptyBucket() {
+        client.listObjectsV2Paginator(request -> request.bucket(BUCKET)).contents()
+                .forEach(object -> client.deleteObject(request -> request.bucket(BUCKET).key(object.key())));
+    }
+
+    @Test
+    void putStoresUnderPrefixPlusKey() throws IOException {
+        Path source = staged("hello");
+        storage.put(HASHED, source, "image/jpeg");
+        storage.put(VARIANT, staged("card"), "image/jpeg");
+
+        // Takes ownership of the staged file
+        assertFalse(Files.exists(source));
+        // No sharding in S3: keys are flat names, variants keep their size directory
+        List<String> keys = client.listObjectsV2Paginator(request -> request.bucket(BUCKET)).contents().stream()
+                .map(S3Object::key).sorted().toList();
+        assertEquals(List.of(PREFIX + HASHED, PREFIX + VARIANT), keys);
+        assertEquals("image/jpeg",
+                client.headObject(request -> request.bucket(BUCKET).key(PREFIX + HASHED)).contentType());
+    }
+
+    @Test
+    void statAndExists() throws IOException {
+        Instant before = Instant.now().minusSeconds(60);
+        storage.put(HASHED, staged("hello"), "image/jpeg");
+
+        StoredObject object = storage.stat(HASHED);
+        assertEquals(HASHED, object.key());
+        assertEquals(5, object.size());
+        assertTrue(object.lastModified().isAfter(before));
+        // Remote bytes are streamed, never sendfile'd
+        assertNull(object.localFile());
+        assertTrue(storage.exists(HASHED));
+
+        assertNull(storage.stat("missing.jpg"));
+        assertFalse(storage.exists("missing.jpg"));
+    }
+
+    @Test
+    void opensByteRanges() throws IOException {
+        storage.put(HASHED, staged("0123456789"), "image/jpeg");
+        assertEquals("2345", read(storage.open(HASHED, 2, 5)));
+        assertEquals("9", read(storage.open(HASHED, 9, 9)));
+        assertEquals("0123456789", read(storage.open(HASHED, 0, 9)));
+        assertThrows(IOException.class, () -> storage.open("missing.jpg", 0, 0));
+    }
+
+    @Test
+    void touchKeepsContentAndType() throws IOException {
+        storage.put(HASHED, staged("hello"), "image/webp");
+        Instant first = storage.stat(HASHED).lastModified();
+        storage.touch(HASHED);
+
+        assertFalse(storage.stat(HASHED).lastModified().isBefore(first));
+        assertEquals("hello", read(storage.open(HASHED, 0, 4)));
+        assertEquals("image/webp",
+                client.headObject(request -> request.bucket(BUCKET).key(PREFIX + HASHED)).contentType());
+        storage.touch("missing.jpg");
+        assertFalse(storage.exists("missing.jpg"));
+    }
+
+    @Test
+    void delete() throws IOException {
+        storage.put(HASHED, staged("hello"), "image/jpeg");
+        storage.delete(HASHED);
+        assertFalse(storage.exists(HASHED));
+        // Deleting a missing key is not an error
+        storage.delete(HASHED);
+    }
+
+    @Test
+    void listMapsObjectsBackToKeysAndIgnoresOtherPrefixes() throws IOException {
+        storage.put(HASHED, staged("a"), "image/jpeg");
+        storage.put(VARIANT, staged("bb"), "image/jpeg");
+        storage.put("photo.jpg", staged("ccc"), "image/jpeg");
+        client.putObject(request -> request.bucket(BUCKET).key("other/unrelated.jpg"),
+                RequestBody.fromString("x"));
+
+        Map<String, Long> listed;
+        try (Stream<StoredObject> objects = storage.list()) {
+            listed = objects.collect(Collectors.toMap(StoredObject::key, StoredObject::size));
+        }
+        assertEquals(Map.of(HASHED, 1L, VARIANT, 2L, "photo.jpg", 3L), listed);
+    }
+
+    @Test
+    void listFailureIsAnIOException() {
+        S3StorageBackend missingBucket = new S3StorageBackend("no-such-bucket", PREFIX, "us-east-1", MINIO.getS3URL(),
+                MINIO.getUserName(), MINIO.getPassword());
+        try {
+            IOException e = assertThrows(IOException.class, missingBucket::list);
+            assertTrue(e.getMessage().contains("no-such-bucket"));
+        } finally {
+            missingBucket.destroy();
+        }
+    }
+
+    private Path staged(String content) throws IOException {
+        return Files.writeString(Files.createTempFile(tempDir, "staged-", ".tmp"), content);
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -101,7 +101,9 @@ const Hero = () => {
       {/* Background Image with Overlay */}
       <div className="absolute inset-0">
         <img
-          src={`data:${currentHero.imageType};base64,${currentHero.imageBase64}`}
+          src={currentHero.imageUrl}
+          srcSet={currentHero.imageSrcset}
+          sizes="100vw"
           alt={currentHero.title}
           className={`w-full h-full object-cover transition-opacity duration-500 ${
             fade ? "opacity-100" : "opacity-0"
@@ -115,7 +115,7 @@ const HeroManagement = () => {
       displayOrder: hero.displayOrder || 0,
       active: hero.active
     });
-    setPreviewUrl(hero.imageBase64 ? `data:${hero.imageType};base64,${hero.imageBase64}` : '');
+    setPreviewUrl(hero.imageUrl || '');
     setShowForm(true);
   };
 
@@ -370,7 +370,9 @@ const HeroManagement = () => {
           >
             <div className="relative h-48">
               <img
-                src={`data:${hero.imageType};base64,${hero.imageBase64}`}
+                src={hero.imageUrl}
+                srcSet={hero.imageSrcset}
+                sizes="(min-width: 1024px) 33vw, (min-width: 768px) 50vw, 100vw"
                 alt={hero.title}
                 className="w-full h-full object-cover"
               />
@@ -296,7 +296,7 @@ const NavBar = () => {
                       >
                         {product.imageUrl && (
                           <img 
-                            src={product.imageUrl} 
+                            src={product.imageVariants?.thumb || product.imageUrl} 
                             alt={product.name} 
                             className="w-12 h-12 object-cover rounded mr-3"
                           />
@@ -512,7 +512,7 @@ const NavBar = () => {
                       >
                         {product.imageUrl && (
                           <img 
-                            src={product.imageUrl} 
+                            src={product.imageVariants?.thumb || product.imageUrl} 
                             alt={product.name} 
                             className="w-12 h-12 object-cover rounded mr-3"
                           />
@@ -1,4 +1,4 @@
-import React, { useEffect, useState } from 'react';
+import React, { useEffect, useRef, useState } from 'react';
 import axios from 'axios';
 import { Package, Star, Truck, Tag, TrendingUp, AlertCircle, Edit, Trash2, Eye, Grid, List, Shield, Lock } from 'lucide-react';
 import { isAdmin } from '../services/api';
@@ -9,6 +9,9 @@ const ProductList = () => {
   const [products, setProducts] = useState([]);
   const [editingProduct, setEditingProduct] = useState(null);
   const [updatedProduct, setUpdatedProduct] = useState({});
+  // True until the full product (with specifications) has loaded for the edit form
+  const [detailsLoading, setDetailsLoading] = useState(false);
+  const detailsRequest = useRef(0);
   const [viewMode, setViewMode] = useState('cards'); // 'cards' or 'table'
   const [selectedProduct, setSelectedProduct] = useState(null); // For viewing details
   const adminUser = isAdmin(); // Check if user is admin
@@ -45,6 +48,7 @@ const ProductList = () => {
   };
 
   const handleEdit = (product) => {
+    const initialSpecifications = product.specifications || '';
     setEditingProduct(product);
     setUpdatedProduct({
       name: product.name || '',
@@ -58,7 +62,7 @@ const ProductList = () => {
       // Specifications
       sku: product.sku || '',
       model: product.model || '',
-      specifications: product.specifications || '',
+      specifications: initialSpecifications,
       warranty: product.warranty || '',
       condition: product.condition || 'NEW',
       // Pricing
@@ -90,6 +94,28 @@ const ProductList = () => {
       // Image
       imageFile: null
     });
+
+    // List endpoints omit the specifications text; load the full product for the form.
+    // Saving waits for it, so the stored text is never replaced by the empty placeholder.
+    const request = ++detailsRequest.current;
+    setDetailsLoading(true);
+    axios.get(`${API_BASE_URL}/product/${product.id}`)
+      .then(response => {
+        if (detailsRequest.current !== request) {
+          return; // Another product was opened meanwhile
+        }
+        // Keep whatever the admin has already typed
+        setUpdatedProduct(prev => prev.specifications !== initialSpecifications ? prev : {
+          ...prev,
+          specifications: response.data.specifications || ''
+        });
+      })
+      .catch(error => console.error('Error fetching product details:', error))
+      .finally(() => {
+        if (detailsRequest.current === request) {
+          setDetailsLoading(false);
+        }
+      });
   };
 
   const handleUpdateChange = (e) => {
@@ -115,6 +141,9 @@ const ProductList = () => {
 
   const handleUpdateSubmit = (e) => {
     e.preventDefault();
+    if (detailsLoading) {
+      return;
+    }
     
     // Create FormData for multipart/form-data request
     const formData = new FormData();
@@ -1071,9 +1100,10 @@ const ProductList = () => {
                       name="specifications"
                       value={updatedProduct.specifications}
                       onChange={handleUpdateChange}
+                      disabled={detailsLoading}
                       rows="2"
-                      className="w-full p-2 border border-gray-300 rounded-lg focus:ring-2 focus:ring-blue-500 focus:border-transparent"
-                      placeholder="Technical specifications"
+                      className="w-full p-2 border border-gray-300 rounded-lg focus:ring-2 focus:ring-blue-500 focus:border-transparent disabled:bg-gray-100"
+                      placeholder={detailsLoading ? 'Loading specifications...' : 'Technical specifications'}
                     />
                   </div>
                 </div>
@@ -1208,7 +1238,8 @@ const ProductList = () => {
                 </button>
                 <button
                   type="submit"
-                  className="bg-gradient-to-r from-green-500 to-green-600 hover:from-green-600 hover:to-green-700 text-white px-8 py-2.5 rounded-lg font-medium transition-all shadow-md hover:shadow-lg flex items-center gap-2"
+                  disabled={detailsLoading}
+                  className="bg-gradient-to-r from-green-500 to-green-600 hover:from-green-600 hover:to-green-700 text-white px-8 py-2.5 rounded-lg font-medium transition-all shadow-md hover:shadow-lg flex items-center gap-2 disabled:opacity-50 disabled:cursor-not-allowed"
                 >
                   <Edit size={18} />
                   Update Product
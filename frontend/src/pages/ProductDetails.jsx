@@ -164,7 +164,9 @@ const ProductDetails = () => {
               <div className="relative bg-gray-50 dark:bg-gray-700 rounded-xl overflow-hidden aspect-square flex items-center justify-center mb-4">
                 <img
                   src={
-                    product.imageUrl 
+                    product.imageVariants?.detail
+                      ? product.imageVariants.detail
+                      : product.imageUrl 
                       ? (product.imageUrl.startsWith('http') ? product.imageUrl : `http://16.170.168.84:32050${product.imageUrl}`)
                       : product.imagePath 
                       ? `http://16.170.168.84:32050${product.imagePath}`
@@ -156,7 +156,9 @@ const ProductList = () => {
             <div className="relative overflow-hidden rounded-t-xl">
               <img
                 src={
-                  product.imageUrl 
+                  product.imageVariants?.card
+                    ? product.imageVariants.card
+                    : product.imageUrl 
                     ? (product.imageUrl.startsWith('http') ? product.imageUrl : `http://16.170.168.84:32050${product.imageUrl}`)
                     : product.imagePath 
                     ? `http://16.170.168.84:32050${product.imagePath}`
@@ -49,6 +49,8 @@ export const authAPI = {
 export const productAPI = {
   getAll: () => api.get('/product/all'),
   getById: (id) => api.get(`/product/${id}`),
+  getBatch: (ids) => api.get('/product/batch', { params: { ids: ids.join(',') } }),
+  compare: (ids) => api.get('/product/compare', { params: { ids: ids.join(',') } }),
   search: (brand) => api.get(`/product/search?brand=${brand}`),
   create: (product) => api.post('/product/create', product),
   update: (id, product) => api.put(`/product/update/${id}`, product),